@@ -0,0 +1,28 @@
+import java.util.*;
+
+/**	Agent interface for Mahjong game. An agent makes the decisions for a
+ * 	seat: whether to win, which tile to discard, whether to claim a
+ * 	discard, and which sequence to make with a CHI (see Decision).
+ * 	The game only asks the agent of a seat and never checks what kind of
+ * 	player sits there, so people, bots, and anything else that answers
+ * 	decisions all play the same way.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public interface Agent {
+	/**	Answers one decision, by calling Decision.setAnswer
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d);
+
+	/**	Answers a batch of decisions, which may come from many different
+	 * 	games. By default each is answered one at a time, agents that are
+	 * 	faster with many decisions at once can override this.
+	 * 	@param	decisions to answer
+	 */
+	public default void decideAll(List<Decision> decisions) {
+		for (Decision d: decisions)
+			decide(d);
+	}
+}
@@ -0,0 +1,154 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**	BatchingAgent class for Mahjong game. Collects the decisions of many
+ * 	games running on different threads and hands them to another agent in
+ * 	batches, so an agent that is expensive to call (a search, or a model
+ * 	run on many positions at once) pays that cost once per batch instead
+ * 	of once per decision.
+ * 	Each game thread waits while its decision is in a batch. One worker
+ * 	thread takes every decision waiting, up to the largest batch size,
+ * 	optionally waits a little for more, and calls Agent.decideAll.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class BatchingAgent implements Agent, AutoCloseable {
+	/*	Field variables	*/
+	//	Agent answering each batch
+	private Agent delegate;
+	//	Most decisions in one batch
+	private int maxBatch;
+	//	Longest time to wait for a batch to fill, in nanoseconds
+	private long maxWaitNanos;
+	//	Decisions waiting to be put in a batch
+	private BlockingQueue<Decision> pending;
+	//	Thread making batches
+	private Thread worker;
+	//	Whether the agent has been closed
+	private volatile boolean closed;
+	//	Number of batches and decisions answered, for checking batch sizes
+	private volatile long batches;
+	private volatile long decisions;
+
+	/*	Constructors	*/
+	/**	Batches whatever decisions are waiting, without waiting for more
+	 * 	@param	agent answering each batch
+	 * 	@param	most decisions in one batch
+	 */
+	public BatchingAgent(Agent delegate, int maxBatch) {
+		this(delegate, maxBatch, 0);
+	}
+	/**	@param	agent answering each batch
+	 * 	@param	most decisions in one batch
+	 * 	@param	longest time to wait for a batch to fill, in nanoseconds
+	 */
+	public BatchingAgent(Agent delegate, int maxBatch, long maxWaitNanos) {
+		this.delegate = delegate;
+		this.maxBatch = Math.max(1, maxBatch);
+		this.maxWaitNanos = maxWaitNanos;
+		pending = new LinkedBlockingQueue<>();
+		worker = new Thread(this::makeBatches, "BatchingAgent");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**	Adds a decision to the next batch and waits for the answer
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		if (closed)
+			throw new IllegalStateException("BatchingAgent is closed");
+		pending.add(d);
+		//	If the worker was closed and drained the queue before the add,
+		//	nobody else will answer the decision
+		if (closed && pending.remove(d))
+			d.fail(new IllegalStateException("BatchingAgent is closed"));
+		d.awaitAnswer();
+	}
+	/**	Adds decisions to the next batches and waits for all answers
+	 * 	@param	decisions to answer
+	 */
+	public void decideAll(List<Decision> list) {
+		if (closed)
+			throw new IllegalStateException("BatchingAgent is closed");
+		pending.addAll(list);
+		if (closed)
+			for (Decision d: list)
+				if (pending.remove(d))
+					d.fail(new IllegalStateException("BatchingAgent is closed"));
+		for (Decision d: list)
+			d.awaitAnswer();
+	}
+
+	/**	Worker loop: takes the decisions waiting, answers them as one batch	*/
+	private void makeBatches() {
+		List<Decision> batch = new ArrayList<>(maxBatch);
+		while (!closed) {
+			try {
+				//	Wait for a first decision, then take all others waiting
+				Decision first = pending.poll(10, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+				batch.add(first);
+				pending.drainTo(batch, maxBatch - 1);
+				//	Wait for more decisions if the batch isn't full
+				long deadline = System.nanoTime() + maxWaitNanos;
+				while (batch.size() < maxBatch) {
+					Decision d = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (d == null)
+						break;
+					batch.add(d);
+				}
+				answer(batch);
+				batch.clear();
+			}
+			catch (InterruptedException e) {
+				break;
+			}
+		}
+		//	Fail anything left so no game waits forever. Draining takes each
+		//	decision out, so a game taking its decision back fails it instead
+		pending.drainTo(batch);
+		for (Decision d: batch)
+			if (!d.isAnswered())
+				d.fail(new IllegalStateException("BatchingAgent is closed"));
+	}
+
+	/**	Has the delegate answer a batch, failing any decision left without
+	 * 	an answer
+	 * 	@param	decisions to answer
+	 */
+	private void answer(List<Decision> batch) {
+		try {
+			delegate.decideAll(batch);
+		}
+		catch (RuntimeException e) {
+			for (Decision d: batch)
+				if (!d.isAnswered())
+					d.fail(e);
+		}
+		for (Decision d: batch)
+			if (!d.isAnswered())
+				d.fail(new IllegalStateException("Decision was not answered"));
+		batches++;
+		decisions += batch.size();
+	}
+
+	/**	@return	average number of decisions in a batch	*/
+	public double getAverageBatch() {
+		return batches == 0 ? 0 : (double)decisions / batches;
+	}
+
+	/**	Stops the worker thread, failing any decisions still waiting	*/
+	public void close() {
+		closed = true;
+		worker.interrupt();
+		try {
+			worker.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -23,16 +23,76 @@ public class Bot extends Player {
 	//	Junk tiles to be discarded or made into incomplete/complete hands
 	Queue<Tile> handJunk;
 	
+	//	Random numbers for choosing discards
+	private SplittableRandom random;
+	//	Finds the shanten and ukeire of each discard
+	private DiscardEngine engine;
+	
+	//	Tiles the hidden sets can KONG, PENG or CHI, bit i set for tile
+	//	id i, found again whenever hidden changes
+	private long kongNeeds;
+	private long pengNeeds;
+	private long chiNeeds;
+	
 	//	Constructor with playerNum
 	public Bot (int playerNum) {
+		this(playerNum, new SplittableRandom());
+	}
+	//	Constructor with playerNum and random numbers to use, so a game
+	//	with the same random seed plays the same way
+	public Bot (int playerNum, SplittableRandom random) {
 		//	Bot is a player with isBot == true
 		super(playerNum, true);
 		//	Initialize bot field variables
 		hidden = new ArrayList<>();
 		handJunk = new PriorityQueue<>(new TileComparator());
+		this.random = random;
+		engine = new DiscardEngine();
 	}
-	
-	
+	/**	Saves the hand and shown sets, and the hidden sets, junk, and tiles
+	 * 	they need into a game state
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		super.saveTo(state);
+		int seat = getPlayerNum();
+		for (int i = 0; i < hidden.size(); i++)
+			state.hidden[seat * GameState.MAX_SETS + i] = hidden.get(i).getCode();
+		state.hiddenSizes[seat] = hidden.size();
+		Arrays.fill(state.junk, seat * Tile.NUM_TYPES, (seat + 1) * Tile.NUM_TYPES, 0);
+		for (Tile t: handJunk)
+			state.junk[seat * Tile.NUM_TYPES + t.getId()]++;
+		state.needs[seat * 3] = kongNeeds;
+		state.needs[seat * 3 + 1] = pengNeeds;
+		state.needs[seat * 3 + 2] = chiNeeds;
+	}
+	/**	Loads the hand and shown sets, and the hidden sets, junk, and tiles
+	 * 	they need from a game state
+	 * 	@param	state to load
+	 */
+	public void loadFrom(GameState state) {
+		super.loadFrom(state);
+		int seat = getPlayerNum();
+		hidden.clear();
+		for (int i = 0; i < state.hiddenSizes[seat]; i++)
+			hidden.add(TileSet.fromCode(state.hidden[seat * GameState.MAX_SETS + i]));
+		handJunk.clear();
+		for (int id = 0; id < Tile.NUM_TYPES; id++)
+			for (int i = 0; i < state.junk[seat * Tile.NUM_TYPES + id]; i++)
+				handJunk.add(Tile.fromId(id));
+		kongNeeds = state.needs[seat * 3];
+		pengNeeds = state.needs[seat * 3 + 1];
+		chiNeeds = state.needs[seat * 3 + 2];
+	}
+	/**	Replaces the random numbers for choosing discards, such as for a
+	 * 	bot loaded into a new position
+	 * 	@param	random numbers to use
+	 */
+	public void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+
 	//	Override draw method
 	/**	Draw card, but also update handJunk
 	 * 	@param	Tile to add to hand
@@ -42,39 +102,48 @@ public class Bot extends Player {
 		handJunk.add(t);
 	}
 	
-	//	New discard method
 	/**	Discard a tile decided by hidden sets
 	 * 	@return	Tile discarded
 	 */
 	public Tile discard() {
-		//	Update hidden tiles with junk Tiles
-		updateHand();
-		
-		//	Choose a random tile from discard
-		int randomTile = (int)(Math.random() * handJunk.size());
-		
-		//	Temp queue containing all tiles in hand junk
-		Queue<Tile> temp = getHandJunk();
-		//	Reconstruct newhand
-		Queue<Tile> newHand = new PriorityQueue<>(new TileComparator());
-		
-		//	Create new queue without discarded tile
-		for (int i = 1; i < randomTile; i++)
-			newHand.add(temp.poll());
-		
-		Tile discarded = temp.poll();
-		
-		while (!temp.isEmpty())
-			newHand.add(temp.poll());
-		
-		//	Update handjunk with updated queue without discard
-		handJunk = newHand;
-		
+		return discard(chooseDiscard());
+	}
+	/**	Discard a tile, which may be chosen by an agent other than BotAgent
+	 * 	If the tile is in a hidden set, the rest of the set becomes junk
+	 * 	@param	Tile to discard
+	 * 	@return	Tile discarded
+	 */
+	public Tile discard(Tile t) {
+		//	Update handjunk without discard
+		if (!handJunk.remove(t)) {
+			for (int i = 0; i < hidden.size(); i++) {
+				if (hidden.get(i).contains(t)) {
+					junkSet(hidden.remove(i));
+					handJunk.remove(t);
+					updateHiddenNeeds();
+					break;
+				}
+			}
+		}
 		//	Delete card from hand in super
-		handDelete(discarded);
-		
-		//	Return discarded tile
-		return discarded;
+		return super.discard(t);
+	}
+	/**	Chooses a tile to discard, without discarding it: the tile that
+	 * 	leaves the hand closest to ready, then with the most live tiles that
+	 * 	would bring it closer (see DiscardEngine)
+	 * 	@return	Tile to discard
+	 */
+	public Tile chooseDiscard() {
+		//	Update hidden tiles with junk Tiles, hidden sets still choose
+		//	which tiles to claim
+		updateHand();
+		return engine.choose(this, random);
+	}
+	/**	@return	engine holding the shanten and ukeire of each discard from
+	 * 			the last choice
+	 */
+	public DiscardEngine getDiscardEngine() {
+		return engine;
 	}
 	
 	
@@ -89,6 +158,32 @@ public class Bot extends Player {
 		
 		//	Check for extra sets (if shown sets and hidden/incomplete sets > 4)
 		checkExtra();
+		
+		//	Find the tiles the new hidden sets can claim
+		updateHiddenNeeds();
+	}
+	
+	/**	Finds the tiles that can be claimed by hidden sets:
+	 * 	KONG with a complete PENG set, PENG with a pair, CHI with an
+	 * 	incomplete sequence
+	 */
+	private void updateHiddenNeeds() {
+		kongNeeds = 0;
+		pengNeeds = 0;
+		chiNeeds = 0;
+		for (TileSet ts: hidden) {
+			if (!(ts instanceof IncompleteSet)) {
+				if (ts.getSetType() == TileSet.SET_TYPE.PENG)
+					kongNeeds |= 1L << ts.getTiles().get(0).getId();
+				continue;
+			}
+			for (Tile t: ts.getNeededTiles()) {
+				if (ts.getSetType() == TileSet.SET_TYPE.PENG)
+					pengNeeds |= 1L << t.getId();
+				else if (ts.getSetType() == TileSet.SET_TYPE.CHI)
+					chiNeeds |= 1L << t.getId();
+			}
+		}
 	}
 	
 	
@@ -231,7 +326,7 @@ public class Bot extends Player {
 	 */
 	public void checkExtra() {
 		//	If handsize is too big, there is an error elsewhere and this method is pointless
-		if (getHand().size() > 14) {
+		if (getHandSize() > 14) {
 			System.out.println("ERROR: Hand Size > 14. Can't check for extra hidden.");
 			return;
 		}
@@ -252,56 +347,29 @@ public class Bot extends Player {
 			handJunk.add(t);
 	}
 	
-	/**	Checks if bot can KONG the tile being discarded
-	 * 	@param	Tile to check if takable
-	 * 	@return Whether or not tile can be KONG
-	 */
-	public boolean canKong(Tile discard) {
-		//	If discard is null, can't KONG
-		if (discard == null)
-			return false;
-		//	Find a full hidden PENG set
-		for (TileSet ts: hidden) {
-			if (!(ts instanceof IncompleteSet) && ts.getSetType() == 
-				TileSet.SET_TYPE.PENG && ts.contains(discard))
-				return true;
-		}
-		return false;
-	}
 	/**	KONG the given tile with tiles in hand into shown
 	 * 	Precondition: canKong
 	 * 	@param	Tile to KONG
 	 */
 	public void kong(Tile discard) {
 		//	Announce the kong
-		System.out.println("KONG: Player " + getPlayerNum());
+		announce("KONG: Player " + getPlayerNum());
 		//	Find a full hidden PENG set
 		for (int i = 0; i < hidden.size(); i++) {
 			//	Current tileset
 			TileSet ts = hidden.get(i);
-			//	If current tileset is a complete PENG set, turn it into a KONG set
-			if (!(ts instanceof IncompleteSet) && ts.getSetType() == TileSet.SET_TYPE.PENG) {
+			//	If current tileset is a complete PENG set of the tile, turn it into a KONG set
+			if (!(ts instanceof IncompleteSet) && ts.getSetType() == TileSet.SET_TYPE.PENG
+					&& ts.contains(discard)) {
 				hidden.remove(i);
+				updateHiddenNeeds();
 				ts.kong(discard);
-				addShownSet(ts);
+				addShownSet(ts, discard);
 				return;
 			}
 		}
 	}
 	
-	/**	Checks if player can PENG the tile being discarded without
-	 * 	assuming the player before is throwing the tile
-	 * 	@param	Tile to check if takable
-	 * 	@return Whether or not the tile can be PENG
-	 */
-	public boolean canPeng(Tile discard) {
-		//	Find an incomplete chi tile set that needs the discarded tile
-		for (TileSet ts: hidden) {
-			if (ts.getSetType() == TileSet.SET_TYPE.PENG && ts.isNeeded(discard))
-				return true;
-		}
-		return false;
-	}
 	/*	Override peng kong and chi	*/
 	/**	PENG the given tile with tiles in hand into shown
 	 * 	Precondition: canPeng
@@ -309,7 +377,7 @@ public class Bot extends Player {
 	 */
 	public void peng(Tile discard) {
 		//	Announce the peng
-		System.out.println("PENG: Player " + getPlayerNum());
+		announce("PENG: Player " + getPlayerNum());
 		//	Complete the first incomplete PENG set this tile can complete
 		for (int i = 0; i < hidden.size(); i++) {
 			TileSet ts = hidden.get(i);
@@ -317,48 +385,64 @@ public class Bot extends Player {
 			if (ts.getSetType() == TileSet.SET_TYPE.PENG && ts.isNeeded(discard)) {
 				//	Remove incomplete set
 				hidden.remove(i);
+				updateHiddenNeeds();
 				//	Add complete set
-				addShownSet(ts.complete(discard));
+				addShownSet(ts.complete(discard), discard);
 				return;
 			}
 		}
 	}
 	
-	/**	Checks if player can CHI the tile being discarded without
-	 * 	assuming the player before is throwing the tile
-	 * 	@param	Tile to check if takable
-	 * 	@return Whether or not the tile can be CHI
+	/**	Finds every sequence the hidden sets can make with the tile
+	 * 	being discarded
+	 * 	@param	Tile to CHI
+	 * 	@return	sequences that can be made, in order of hidden sets
 	 */
-	public boolean canChi(Tile discard) {
-		//	Find an incomplete chi tile set that needs the discarded tile
+	public List<TileSet> getChiOptions(Tile discard) {
+		List<TileSet> chiOptions = new ArrayList<>();
 		for (TileSet ts: hidden) {
 			if (ts.getSetType() == TileSet.SET_TYPE.CHI && ts.isNeeded(discard))
-				return true;
+				chiOptions.add(ts.complete(discard));
 		}
-		return false;
+		return chiOptions;
 	}
-	
 	/**	CHI the given tile with tiles in hand into shown
 	 * 	Precondition: canChi
 	 * 	@param	Tile to CHI
+	 * 	@param	index of sequence to make in getChiOptions
 	 */
-	public void chi(Tile discard) {
+	public void chi(Tile discard, int option) {
 		//	Announce the chi
-		System.out.println("CHI: Player " + getPlayerNum());
-		//	Complete the first incomplete CHI set this tile can complete
+		announce("CHI: Player " + getPlayerNum());
+		//	Complete the chosen incomplete CHI set this tile can complete
 		for (int i = 0; i < hidden.size(); i++) {
 			TileSet ts = hidden.get(i);
 			//	If discard completes incomplete chi
-			if (ts.getSetType() == TileSet.SET_TYPE.CHI && ts.isNeeded(discard)) {
+			if (ts.getSetType() == TileSet.SET_TYPE.CHI && ts.isNeeded(discard) && option-- == 0) {
 				//	Remove incomplete set
 				hidden.remove(i);
+				updateHiddenNeeds();
 				//	Add complete set
-				addShownSet(ts.complete(discard));
+				addShownSet(ts.complete(discard), discard);
 				return;
 			}
 		}
 	}
 	
+	/*	Tiles that can be claimed, from hidden sets instead of hand	*/
+	/**	@return	tiles a complete hidden PENG set can KONG	*/
+	public long getKongTiles() {
+		return kongNeeds;
+	}
+	/**	@return	tiles a hidden pair can PENG	*/
+	public long getPengTiles() {
+		return pengNeeds;
+	}
+	/**	@return	tiles an incomplete hidden sequence can CHI	*/
+	public long getChiTiles() {
+		return chiNeeds;
+	}
+	
 	/*	Accessor methods, returns copy when applicable	*/
 	/**	@return copy of hidden	*/
 	public List<TileSet> getHidden() {
@@ -0,0 +1,46 @@
+import java.util.SplittableRandom;
+
+/**	BotAgent class for Mahjong game. Makes the decisions of a Bot: it
+ * 	always wins and always claims when it can, makes the first CHI option,
+ * 	and discards the tile with the best shanten and ukeire (see Bot).
+ * 	A BotAgent only keeps a DiscardEngine for each thread between
+ * 	decisions, so one agent can be shared by any number of seats and games.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class BotAgent implements Agent {
+	/*	Field variables	*/
+	//	Engine for players without hidden sets, one per thread deciding
+	private final ThreadLocal<DiscardEngine> engines = ThreadLocal.withInitial(DiscardEngine::new);
+
+	/**	Answers one decision for a bot
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		switch (d.getType()) {
+			case WIN:
+			case CLAIM:
+				d.setAnswer(1);
+				break;
+			case CHI_OPTION:
+				d.setAnswer(0);
+				break;
+			case DISCARD:
+				d.setAnswer(chooseDiscard(d.getPlayer()).getId());
+				break;
+		}
+	}
+
+	/**	Chooses a discard for a player
+	 * 	@param	player discarding
+	 * 	@return	tile to discard
+	 */
+	private Tile chooseDiscard(Player p) {
+		if (p instanceof Bot)
+			return ((Bot)p).chooseDiscard();
+		//	A player without hidden sets uses the thread's engine, breaking
+		//	ties the same way every time
+		return engines.get().choose(p, new SplittableRandom(0));
+	}
+}
@@ -0,0 +1,88 @@
+/**	ClaimArbiter class for Mahjong game, to find who can claim a discarded
+ * 	tile and in which order they are asked.
+ * 	Every player keeps masks of the tiles they can KONG, PENG and CHI (see
+ * 	Player.getKongTiles()), so the claims on a discard are found by testing
+ * 	one bit per player, without copying any hands.
+ * 	The claims are packed into one int with 4 bits for each type of set,
+ * 	one bit per seat:
+ * 	bits 0-3	- seats that can KONG
+ * 	bits 4-7	- seats that can PENG
+ * 	bits 8-11	- seat that can CHI (only the seat after the discarder)
+ * 	so the lowest set bit is always the claim with the highest priority,
+ * 	KONG before PENG before CHI, and lower seats first.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class ClaimArbiter {
+	//	Type of set for each group of 4 bits, in order of priority
+	private static final TileSet.SET_TYPE[] PRIORITY =
+			{TileSet.SET_TYPE.KONG, TileSet.SET_TYPE.PENG, TileSet.SET_TYPE.CHI};
+
+	/*	Field variables	*/
+	//	Players in the game, by seat
+	private Player[] players;
+
+	/*	Constructors	*/
+	/**	Creates an arbiter for the players of a game
+	 * 	@param	players by seat
+	 */
+	public ClaimArbiter(Player[] players) {
+		this.players = players;
+	}
+
+	/**	Finds every claim other players can make on a discard
+	 * 	@param	seat of player discarding
+	 * 	@param	tile discarded
+	 * 	@return	packed claims, 0 if no one can claim the tile
+	 */
+	public int getClaims(int discarder, Tile discard) {
+		int id = discard.getId();
+		int claims = 0;
+		for (int seat = 0; seat < players.length; seat++) {
+			if (seat == discarder)
+				continue;
+			claims |= (int)(players[seat].getKongTiles() >>> id & 1) << seat;
+			claims |= (int)(players[seat].getPengTiles() >>> id & 1) << (4 + seat);
+		}
+		int next = (discarder + 1) % 4;
+		claims |= (int)(players[next].getChiTiles() >>> id & 1) << (8 + next);
+		return claims;
+	}
+
+	/**	@return	bit of the claim with the highest priority, -1 if none
+	 * 	@param	packed claims
+	 */
+	public static int first(int claims) {
+		return claims == 0 ? -1 : Integer.numberOfTrailingZeros(claims);
+	}
+	/**	@return	claims without the claim with the highest priority
+	 * 	@param	packed claims
+	 */
+	public static int removeFirst(int claims) {
+		return claims & (claims - 1);
+	}
+	/**	@return	bit of a claim in packed claims
+	 * 	@param	seat making the claim
+	 * 	@param	type of set the claim makes
+	 */
+	public static int bitOf(int seat, TileSet.SET_TYPE type) {
+		for (int i = 0; i < PRIORITY.length; i++) {
+			if (PRIORITY[i] == type)
+				return i * 4 + seat;
+		}
+		throw new IllegalArgumentException("No claim makes a " + type);
+	}
+	/**	@return	seat making a claim
+	 * 	@param	bit of claim
+	 */
+	public static int seatOf(int bit) {
+		return bit & 3;
+	}
+	/**	@return	type of set a claim makes
+	 * 	@param	bit of claim
+	 */
+	public static TileSet.SET_TYPE typeOf(int bit) {
+		return PRIORITY[bit >> 2];
+	}
+}
@@ -0,0 +1,149 @@
+import java.io.PrintStream;
+import java.util.*;
+
+/**	ConsoleAgent class for Mahjong game. Makes the decisions of a person
+ * 	playing on the console: prints the table and their hand, then prompts
+ * 	them for each decision. Entering -1 at any prompt exits the game.
+ * 	By default the console is used, but any Prompt can be given so the
+ * 	player can be on another stream such as a network connection.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class ConsoleAgent implements Agent {
+	/*	Field variables	*/
+	//	Prompt reading the player's answers
+	private Prompt prompt;
+	//	Stream the player sees, the output of the prompt
+	private PrintStream out;
+	//	Frame of everything printed before the next prompt
+	private TileRenderer frame;
+	
+	/*	Constructors	*/
+	/**	Agent for a player on the console	*/
+	public ConsoleAgent() {
+		this(Prompt.console());
+	}
+	/**	Agent for a player on any prompt
+	 * 	@param	prompt to read answers from and print to
+	 */
+	public ConsoleAgent(Prompt prompt) {
+		this.prompt = prompt;
+		out = prompt.getOutput();
+		frame = new TileRenderer();
+	}
+	
+	/**	Prints what the player needs to see, then prompts for a decision
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		Player p = d.getPlayer();
+		int input = 0;
+		switch (d.getType()) {
+			case WIN:
+				printTable(d);
+				//	Ask if the player wants to win right now
+				frame.tiles(p.getHandList()).flush(out);
+				input = prompt.readInt("Would you like to win? (0 - NO, 1 - YES)", -1, 1);
+				break;
+			case CLAIM:
+				//	Print hand before asking
+				frame.tiles(p.getHandList()).line("").flush(out);
+				//	Only the player whose turn it is can claim their own drawn tile
+				boolean drawn = d.getGame() != null && d.getGame().getTurn() == p.getPlayerNum();
+				input = prompt.readInt("Would you like to " + d.getClaimType() + " "
+						+ (drawn ? "drawn" : "discarded") + " tile? (0 - NO, 1 - YES)", -1, 1);
+				break;
+			case CHI_OPTION:
+				input = chooseChi(d.getChiOptions());
+				break;
+			case DISCARD:
+				printTable(d);
+				input = chooseDiscard(p);
+				break;
+		}
+		if (input == -1) {
+			out.println("\nPROGRAM EXITED\n");
+			//	Only the console player can end the whole program
+			if (prompt == Prompt.console())
+				System.exit(0);
+			throw new IllegalStateException("Player exited the game");
+		}
+		d.setAnswer(input);
+	}
+
+	/**	Adds the discards and everyone's shown sets, then the tile drawn,
+	 * 	to the frame
+	 * 	@param	decision being made
+	 */
+	private void printTable(Decision d) {
+		Player p = d.getPlayer();
+		Mahjong game = d.getGame();
+		if (game != null) {
+			//	Create some spearation from previous turns
+			frame.line("\n");
+			//	Print discards
+			frame.line("Discards:");
+			game.renderDiscard(frame);
+			//	Print other players' shown sets
+			for (int seat = 0; seat < 4; seat++) {
+				if (seat != p.getPlayerNum())
+					frame.line("Player " + seat + "\'s shown tiles:").sets(game.getPlayer(seat).getShown());
+			}
+		}
+		//	Print own shown set
+		frame.line("\n\nYour shown tiles:").sets(p.getShown());
+		//	Print drawn tile if there is one
+		if (d.getTile() != null)
+			frame.line("Drawn tile:").tile(d.getTile());
+	}
+
+	/**	Prompts the player for a tile to discard
+	 * 	@param	player discarding
+	 * 	@return	id of tile to discard, -1 to exit
+	 */
+	private int chooseDiscard(Player p) {
+		int handSize = p.getHandSize();
+		//	Print hand
+		frame.line("\n\nYour hand:");
+		//	Number the tiles in hand
+		for (int i = 0; i < handSize; i++) {
+			frame.text("   " + i + "    ");
+			if (i < 10)
+				frame.text(" ");
+		}
+		frame.line("").tiles(p.getHandList());
+		//	Hint how far the hand is from ready
+		frame.line("\nTiles away from ready: " + Math.max(0, p.getShanten()));
+		//	Get selection from user
+		frame.line("").flush(out);
+		int discardIndex = prompt.readInt("Which tile would you like to discard? "
+				+ "(Tiles start from 0)", -1, handSize - 1);
+		if (discardIndex == -1)
+			return -1;
+		//	Find the id of the selected tile by counting through hand in order
+		int id = 0;
+		while (discardIndex >= p.getCount(id)) {
+			discardIndex -= p.getCount(id);
+			id++;
+		}
+		return id;
+	}
+
+	/**	Prompts the player for which sequence to make
+	 * 	@param	sequences to choose from
+	 * 	@return	index of sequence, -1 to exit
+	 */
+	private int chooseChi(List<TileSet> chiOptions) {
+		//	Message with valid sets
+		frame.line("Please choose the sequence you would like to make:\n");
+		int n = 0;
+		for (TileSet set: chiOptions) {
+			frame.line("Option " + n + ":").set(set);
+			n++;
+		}
+		frame.flush(out);
+		//	Get selection from user
+		return prompt.readInt("Which set should be made?", -1, chiOptions.size() - 1);
+	}
+}
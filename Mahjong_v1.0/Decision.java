@@ -0,0 +1,139 @@
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**	Decision class for Mahjong game. A decision is one question the game
+ * 	asks the agent of a seat, and holds the answer once the agent gives it.
+ * 	There are 4 types of decisions:
+ * 	WIN			- whether to win with a tile, answer 1 for yes or 0 for no
+ * 	DISCARD		- which tile to discard, answer the id of the tile
+ * 	CLAIM		- whether to make a set with a tile, answer 1 or 0
+ * 	CHI_OPTION	- which sequence to make with a CHI, answer the index of
+ * 				the option
+ * 	The thread that asked can wait for the answer, so a decision can be
+ * 	answered on another thread (see BatchingAgent).
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class Decision {
+	public static enum TYPE {WIN, DISCARD, CLAIM, CHI_OPTION};
+
+	/*	Field variables	*/
+	//	Game asking, may be null if the decision is not part of a game
+	private Mahjong game;
+	//	Type of decision
+	private TYPE type;
+	//	Player deciding
+	private Player player;
+	//	Tile to win or claim with, or tile just drawn for a discard (null
+	//	if the turn started with a claim)
+	private Tile tile;
+	//	Type of set to make, only for CLAIM
+	private TileSet.SET_TYPE claimType;
+	//	Sequences to choose from, only for CHI_OPTION
+	private List<TileSet> chiOptions;
+
+	//	Answer given by the agent
+	private int answer;
+	//	Whether the answer has been given
+	private volatile boolean answered;
+	//	Error thrown while answering, null if there was none
+	private volatile RuntimeException error;
+	//	Thread waiting for the answer
+	private volatile Thread waiter;
+
+	/*	Constructors	*/
+	/**	Decision for a WIN or DISCARD
+	 * 	@param	game asking
+	 * 	@param	type of decision
+	 * 	@param	player deciding
+	 * 	@param	tile to win with, or tile drawn
+	 */
+	public Decision(Mahjong game, TYPE type, Player player, Tile tile) {
+		this(game, type, player, tile, null, null);
+	}
+	/**	Decision of any type
+	 * 	@param	game asking
+	 * 	@param	type of decision
+	 * 	@param	player deciding
+	 * 	@param	tile to win or claim with, or tile drawn
+	 * 	@param	type of set to make, only for CLAIM
+	 * 	@param	sequences to choose from, only for CHI_OPTION
+	 */
+	public Decision(Mahjong game, TYPE type, Player player, Tile tile,
+			TileSet.SET_TYPE claimType, List<TileSet> chiOptions) {
+		this.game = game;
+		this.type = type;
+		this.player = player;
+		this.tile = tile;
+		this.claimType = claimType;
+		this.chiOptions = chiOptions;
+	}
+
+	/**	Gives the answer and wakes the thread waiting for it
+	 * 	@param	answer to the decision
+	 */
+	public void setAnswer(int answer) {
+		this.answer = answer;
+		answered = true;
+		Thread t = waiter;
+		if (t != null)
+			LockSupport.unpark(t);
+	}
+	/**	Ends the decision with an error instead of an answer, which is
+	 * 	thrown to the thread waiting for it
+	 * 	@param	error thrown while answering
+	 */
+	public void fail(RuntimeException error) {
+		this.error = error;
+		setAnswer(-1);
+	}
+	/**	Waits on the current thread until the answer is given
+	 * 	@return	answer to the decision
+	 */
+	public int awaitAnswer() {
+		waiter = Thread.currentThread();
+		while (!answered)
+			LockSupport.park(this);
+		waiter = null;
+		return getAnswer();
+	}
+
+	/*	Accessor methods	*/
+	/**	@return	game asking, may be null	*/
+	public Mahjong getGame() {
+		return game;
+	}
+	/**	@return	type of decision	*/
+	public TYPE getType() {
+		return type;
+	}
+	/**	@return	player deciding	*/
+	public Player getPlayer() {
+		return player;
+	}
+	/**	@return	tile to win or claim with, or tile drawn	*/
+	public Tile getTile() {
+		return tile;
+	}
+	/**	@return	type of set to make, only for CLAIM	*/
+	public TileSet.SET_TYPE getClaimType() {
+		return claimType;
+	}
+	/**	@return	copy of sequences to choose from, only for CHI_OPTION	*/
+	public List<TileSet> getChiOptions() {
+		return chiOptions == null ? null : new ArrayList<>(chiOptions);
+	}
+	/**	@return	whether the answer has been given	*/
+	public boolean isAnswered() {
+		return answered;
+	}
+	/**	@return	answer to the decision
+	 * 	Throws the error if the decision failed
+	 */
+	public int getAnswer() {
+		if (error != null)
+			throw error;
+		return answer;
+	}
+}
@@ -0,0 +1,134 @@
+import java.util.*;
+
+/**	Determinizer class for Mahjong game. Makes copies of a game in
+ * 	progress as one bot sees it, called determinizations, to look ahead
+ * 	by playing them on (see Mahjong). Each copy deals the tiles the bot
+ * 	hasn't seen at random: the other players' hands get as many tiles as
+ * 	they hold, and the wall gets the rest, so every deal fits what the bot
+ * 	can see (see VisibleTiles). The bot's seat holds what the bot holds,
+ * 	the other seats are Bots holding the tiles dealt to them.
+ * 	The game is saved into a GameState once, when the determinizer is
+ * 	made. Each thread dealing copies has its own table, a copy of the game
+ * 	that is loaded from the saved state with a new deal each time, so
+ * 	dealing makes no new game, players, or wall.
+ * 	A determinizer is made on the game's thread while the game waits for
+ * 	the bot's decision, so the game doesn't change while it is saved. It is
+ * 	only read after, so any number of threads can deal from it.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class Determinizer {
+	/*	Field variables	*/
+	//	Game being played
+	private final Mahjong game;
+	//	Seat of the bot the copies are dealt for
+	private final int self;
+	//	Game as it was when the determinizer was made
+	private final GameState position;
+	//	Number of each tile the bot hasn't seen, by id
+	private final int[] unseen;
+	//	Number of tiles the bot hasn't seen
+	private final int unseenCount;
+	//	Tiles in hand of every seat
+	private final int[] handSizes;
+
+	/*	Constructors	*/
+	/**	@param	game being played
+	 * 	@param	bot deciding, seated in the game
+	 */
+	public Determinizer(Mahjong game, Bot self) {
+		this.game = game;
+		this.self = self.getPlayerNum();
+		position = new GameState();
+		game.saveTo(position);
+		handSizes = new int[4];
+		//	Tiles the bot hasn't seen are in the other hands or the wall
+		int hidden = position.getWallRemaining();
+		for (int seat = 0; seat < 4; seat++) {
+			handSizes[seat] = position.getHandSize(seat);
+			if (seat != this.self)
+				hidden += handSizes[seat];
+		}
+		unseen = new int[Tile.NUM_TYPES];
+		int count = 0;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			unseen[id] = game.getVisibleTiles().getLive(id, self);
+			count += unseen[id];
+		}
+		if (count != hidden)
+			throw new IllegalStateException("Unseen tiles (" + count + ") don't fill the other hands and wall ("
+					+ hidden + ")");
+		unseenCount = count;
+	}
+
+	/**	Makes a table to deal copies on, for one thread
+	 * 	@param	agent playing every seat of the copies
+	 * 	@return	new table
+	 */
+	public Table newTable(Agent agent) {
+		return new Table(agent);
+	}
+
+	/**	@return	number of tiles the bot hasn't seen	*/
+	public int getUnseenCount() {
+		return unseenCount;
+	}
+
+	/**	One copy of the game, dealt again for each look ahead. Only used by
+	 * 	one thread.
+	 */
+	public class Table {
+		//	Copy of the game and its bots, by seat
+		private final Mahjong copy;
+		private final Bot[] bots;
+		//	State loaded into the copy, the saved position with a deal
+		private final GameState deal;
+		//	Unseen tile ids, shuffled for each deal
+		private final int[] ids;
+
+		private Table(Agent agent) {
+			bots = new Bot[4];
+			for (int seat = 0; seat < 4; seat++)
+				bots[seat] = new Bot(seat, new SplittableRandom(seat));
+			copy = new Mahjong(game, bots, new Wall(game.getWall()), agent);
+			deal = new GameState();
+			ids = new int[unseenCount];
+		}
+
+		/**	Loads the copy with the unseen tiles dealt at random
+		 * 	@param	random numbers for the deal and the copy's bots
+		 * 	@return	copy of the game, only good until the next deal
+		 */
+		public Mahjong deal(SplittableRandom random) {
+			int n = 0;
+			for (int id = 0; id < Tile.NUM_TYPES; id++)
+				for (int i = 0; i < unseen[id]; i++)
+					ids[n++] = id;
+			for (int i = n - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int temp = ids[i];
+				ids[i] = ids[j];
+				ids[j] = temp;
+			}
+			//	Other hands are dealt from the front, the wall gets the rest
+			position.copyInto(deal);
+			int next = 0;
+			for (int seat = 0; seat < 4; seat++) {
+				bots[seat].setRandom(random.split());
+				if (seat == self)
+					continue;
+				deal.dealHand(seat, ids, next, handSizes[seat]);
+				next += handSizes[seat];
+			}
+			deal.fillWall(ids, next);
+			copy.loadFrom(deal);
+			//	Bots dealt a new hand sort it into hidden sets
+			for (int seat = 0; seat < 4; seat++) {
+				if (seat != self)
+					bots[seat].updateHand();
+			}
+			return copy;
+		}
+	}
+}
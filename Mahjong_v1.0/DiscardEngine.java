@@ -0,0 +1,268 @@
+import java.util.*;
+
+/**	DiscardEngine class for Mahjong game. Chooses a discard by tile
+ * 	efficiency: for each different tile in a hand of 14, it finds the
+ * 	shanten left after discarding it, and the number of live tiles (not
+ * 	seen and not in hand, see VisibleTiles) that would lower that shanten
+ * 	if drawn, called ukeire. The best discard has the lowest shanten, then
+ * 	the most ukeire.
+ * 	Everything is looked up in the Shanten suit tables. For each discard
+ * 	the suits that a draw doesn't change are combined once, so trying a
+ * 	draw only combines the one suit it changes. Only tiles next to or 2
+ * 	away from a tile in hand can lower the shanten, so no others are
+ * 	tried.
+ * 	An engine keeps its results and working arrays between decisions, so
+ * 	each thread or bot needs its own. The player must have visible tile
+ * 	counts (see Player.setVisibleTiles), which a game gives its players.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class DiscardEngine {
+	/*	Field variables	*/
+	//	Shanten and ukeire after discarding each tile, by id, only set for
+	//	tiles in hand
+	private int[] shanten;
+	private int[] ukeire;
+	//	Live copies of each tile, by id
+	private int[] live;
+	//	Keys and table entries of each suit of the hand
+	private int[] keys;
+	private int[] entries;
+	//	Table entry of each tile's suit with the tile drawn, by id
+	private int[] drawEntries;
+	//	Best values of every suit but one, by the suit left out, with the
+	//	hand as it is
+	private int[][] othersBest;
+	private int[][] othersPair;
+	//	Best values of the 2 suits other than a pair of suits, by the pair
+	private int[][][] pairsBest;
+	private int[][][] pairsPair;
+	//	Best values of every suit but one after a discard
+	private int[][] discardBest;
+	private int[][] discardPair;
+	//	Tied best discards
+	private int[] ties;
+
+	/*	Constructors	*/
+	/**	Engine with empty results	*/
+	public DiscardEngine() {
+		shanten = new int[Tile.NUM_TYPES];
+		ukeire = new int[Tile.NUM_TYPES];
+		live = new int[Tile.NUM_TYPES];
+		keys = new int[4];
+		entries = new int[4];
+		drawEntries = new int[Tile.NUM_TYPES];
+		othersBest = new int[4][Shanten.MAX_SETS + 1];
+		othersPair = new int[4][Shanten.MAX_SETS + 1];
+		pairsBest = new int[4][4][Shanten.MAX_SETS + 1];
+		pairsPair = new int[4][4][Shanten.MAX_SETS + 1];
+		discardBest = new int[4][Shanten.MAX_SETS + 1];
+		discardPair = new int[4][Shanten.MAX_SETS + 1];
+		ties = new int[Tile.NUM_TYPES];
+	}
+
+	/**	Chooses the discard leaving the lowest shanten, then the most ukeire,
+	 * 	picking at random between tiles that tie
+	 * 	@param	player with 14 tiles to discard from
+	 * 	@param	random numbers for breaking ties
+	 * 	@return	tile to discard
+	 */
+	public Tile choose(Player p, SplittableRandom random) {
+		evaluate(p, true);
+		int tied = 0;
+		int bestShanten = Integer.MAX_VALUE;
+		int bestUkeire = -1;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			if (p.getCount(id) == 0)
+				continue;
+			if (shanten[id] < bestShanten || (shanten[id] == bestShanten && ukeire[id] > bestUkeire)) {
+				bestShanten = shanten[id];
+				bestUkeire = ukeire[id];
+				tied = 0;
+			}
+			if (shanten[id] == bestShanten && ukeire[id] == bestUkeire)
+				ties[tied++] = id;
+		}
+		return Tile.fromId(ties[tied == 1 ? 0 : random.nextInt(tied)]);
+	}
+
+	/**	Finds the shanten and ukeire after discarding each tile in a hand
+	 * 	@param	player to evaluate
+	 */
+	public void evaluate(Player p) {
+		evaluate(p, false);
+	}
+	/**	Finds the shanten after discarding each tile in a hand, and the
+	 * 	ukeire of all of them or only of those leaving the lowest shanten
+	 * 	@param	player to evaluate
+	 * 	@param	whether to only find ukeire for the lowest shanten, leaving
+	 * 			the ukeire of the others -1
+	 */
+	private void evaluate(Player p, boolean lowestOnly) {
+		int budget = Shanten.getBudget(p.getShownSize());
+		VisibleTiles visible = p.getVisibleTiles();
+		//	Live tiles can't be counted without knowing what was seen. A
+		//	hand outside a game is given counts where nothing was seen
+		if (visible == null)
+			throw new IllegalStateException("Player " + p.getPlayerNum() + " has no visible tile counts");
+		//	Tiles that could lower the shanten: those within 2 of a tile in
+		//	hand in the same suit, or the same honor
+		long near = 0;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			if (p.getCount(id) == 0)
+				continue;
+			if (id >= 27)
+				near |= 1L << id;
+			else {
+				int suitStart = id / 9 * 9;
+				for (int n = Math.max(suitStart, id - 2); n <= Math.min(suitStart + 8, id + 2); n++)
+					near |= 1L << n;
+			}
+		}
+		for (int id = 0; id < Tile.NUM_TYPES; id++)
+			live[id] = visible.getLive(id, p);
+		for (int s = 0; s < 4; s++) {
+			keys[s] = p.getSuitKey(s);
+			entries[s] = Shanten.entry(s, keys[s]);
+		}
+		for (int s = 0; s < 4; s++)
+			combineOthers(s, budget, entries, othersBest[s], othersPair[s]);
+		for (int a = 0; a < 4; a++) {
+			for (int b = a + 1; b < 4; b++) {
+				//	The 2 suits other than a and b
+				int c = a == 0 ? (b == 1 ? 2 : 1) : 0;
+				int d = 6 - a - b - c;
+				Shanten.startSuits(entries[c], budget, pairsBest[a][b], pairsPair[a][b]);
+				Shanten.combineSuit(entries[d], budget, pairsBest[a][b], pairsPair[a][b]);
+				pairsBest[b][a] = pairsBest[a][b];
+				pairsPair[b][a] = pairsPair[a][b];
+			}
+		}
+		//	Suits with a live tile that could lower the shanten
+		int drawSuits = 0;
+		//	A draw in another suit than the discard is the same for every
+		//	discard, so it is looked up once
+		for (long rest = near; rest != 0; rest &= rest - 1) {
+			int x = Long.numberOfTrailingZeros(rest);
+			if (live[x] > 0) {
+				drawEntries[x] = Shanten.entry(x / 9, keys[x / 9] + HandSuit.POW5[x % 9]);
+				drawSuits |= 1 << (x / 9);
+			}
+		}
+
+		//	Shanten after each discard
+		int lowest = Integer.MAX_VALUE;
+		for (int c = 0; c < Tile.NUM_TYPES; c++) {
+			if (p.getCount(c) == 0)
+				continue;
+			int sc = c / 9;
+			shanten[c] = Shanten.finishSuits(Shanten.entry(sc, keys[sc] - HandSuit.POW5[c % 9]),
+					budget, othersBest[sc], othersPair[sc]);
+			lowest = Math.min(lowest, shanten[c]);
+		}
+
+		for (int c = 0; c < Tile.NUM_TYPES; c++) {
+			if (p.getCount(c) == 0)
+				continue;
+			if (lowestOnly && shanten[c] > lowest) {
+				ukeire[c] = -1;
+				continue;
+			}
+			int sc = c / 9;
+			int discardKey = keys[sc] - HandSuit.POW5[c - sc * 9];
+			int discardEntry = Shanten.entry(sc, discardKey);
+			int after = shanten[c];
+			//	Combine the discard's suit with the 2 suits other than each
+			//	suit a tile could be drawn in
+			for (int s = 0; s < 4; s++) {
+				if (s == sc || (drawSuits & 1 << s) == 0)
+					continue;
+				System.arraycopy(pairsBest[sc][s], 0, discardBest[s], 0, budget + 1);
+				System.arraycopy(pairsPair[sc][s], 0, discardPair[s], 0, budget + 1);
+				Shanten.combineSuit(discardEntry, budget, discardBest[s], discardPair[s]);
+			}
+
+			//	Add up the live tiles that would lower the shanten
+			int count = 0;
+			for (long rest = near; rest != 0; rest &= rest - 1) {
+				int x = Long.numberOfTrailingZeros(rest);
+				if (live[x] == 0)
+					continue;
+				int sx = x / 9;
+				int drawn;
+				if (sx == sc)
+					drawn = Shanten.finishSuits(Shanten.entry(sc, discardKey + HandSuit.POW5[x - sx * 9]),
+							budget, othersBest[sc], othersPair[sc]);
+				else
+					drawn = Shanten.finishSuits(drawEntries[x], budget, discardBest[sx], discardPair[sx]);
+				if (drawn < after)
+					count += live[x];
+			}
+			ukeire[c] = count;
+		}
+	}
+
+	/**	Combines the entries of every suit but one
+	 * 	@param	suit to leave out
+	 * 	@param	most groups to use
+	 * 	@param	entries of each suit
+	 * 	@param	best values without the pair to fill
+	 * 	@param	best values with the pair to fill
+	 */
+	private static void combineOthers(int left, int budget, int[] entries, int[] best, int[] bestPair) {
+		boolean started = false;
+		for (int s = 0; s < 4; s++) {
+			if (s == left)
+				continue;
+			if (started)
+				Shanten.combineSuit(entries[s], budget, best, bestPair);
+			else
+				Shanten.startSuits(entries[s], budget, best, bestPair);
+			started = true;
+		}
+	}
+
+	/**	Finds the discards leaving the lowest shanten, from the last
+	 * 	evaluation, by most ukeire then by id
+	 * 	@param	player evaluated last
+	 * 	@param	array to fill with tile ids, only its length are found
+	 * 	@return	number of ids found
+	 */
+	public int getCandidates(Player p, int[] ids) {
+		int lowest = Integer.MAX_VALUE;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			if (p.getCount(id) > 0)
+				lowest = Math.min(lowest, shanten[id]);
+		}
+		int n = 0;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			if (p.getCount(id) == 0 || shanten[id] != lowest)
+				continue;
+			//	Insert by most ukeire, dropping the last if the array is full
+			int i = n < ids.length ? n++ : n;
+			while (i > 0 && ukeire[ids[i - 1]] < ukeire[id]) {
+				if (i < ids.length)
+					ids[i] = ids[i - 1];
+				i--;
+			}
+			if (i < ids.length)
+				ids[i] = id;
+		}
+		return n;
+	}
+
+	/**	@return	shanten after discarding a tile, from the last evaluation
+	 * 	@param	id of the tile
+	 */
+	public int getShanten(int id) {
+		return shanten[id];
+	}
+	/**	@return	number of live tiles that would lower the shanten after
+	 * 			discarding a tile, from the last evaluation
+	 * 	@param	id of the tile
+	 */
+	public int getUkeire(int id) {
+		return ukeire[id];
+	}
+}
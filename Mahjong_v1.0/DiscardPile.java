@@ -0,0 +1,128 @@
+import java.util.*;
+
+/**	DiscardPile class for Mahjong game. Holds the discards nobody claimed,
+ * 	in the order they were discarded. Tiles are only ever added, so the
+ * 	pile keeps how many of each tile it holds, and the picture of every
+ * 	full row of 10 is rendered the first time it is shown and kept.
+ * 	Showing the pile only renders the rows it hasn't kept, and nothing is
+ * 	copied to count tiles or to find what was discarded since a turn.
+ * 	Headless games never render a row.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class DiscardPile {
+	//	Tiles in a row when the pile is shown
+	public static final int ROW = 10;
+
+	/*	Field variables	*/
+	//	Tiles in the order discarded
+	private Tile[] tiles;
+	private int size;
+	//	Number of each tile in the pile, by id
+	private int[] counts;
+	//	Picture of each full row, with the empty line after it
+	private List<String> rows;
+
+	/*	Constructors	*/
+	/**	Empty pile, with room for every tile in the wall	*/
+	public DiscardPile() {
+		tiles = new Tile[Wall.SIZE];
+		counts = new int[Tile.NUM_TYPES];
+		rows = new ArrayList<>(Wall.SIZE / ROW + 1);
+	}
+	/**	Copy of another pile, sharing the pictures of its full rows
+	 * 	@param	pile to copy
+	 */
+	public DiscardPile(DiscardPile other) {
+		tiles = Arrays.copyOf(other.tiles, other.tiles.length);
+		size = other.size;
+		counts = Arrays.copyOf(other.counts, other.counts.length);
+		rows = new ArrayList<>(other.rows);
+	}
+
+	/**	Adds a discard to the pile
+	 * 	@param	tile discarded
+	 */
+	public void add(Tile t) {
+		tiles[size++] = t;
+		counts[t.getId()]++;
+	}
+
+	/**	Empties the pile	*/
+	public void clear() {
+		Arrays.fill(tiles, 0, size, null);
+		size = 0;
+		Arrays.fill(counts, 0);
+		rows.clear();
+	}
+
+	/**	Saves the tiles into a game state
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		for (int i = 0; i < size; i++)
+			state.discards[i] = tiles[i].getId();
+		state.discardCount = size;
+	}
+	/**	Loads the tiles from a game state, keeping the pictures of full rows
+	 * 	whose tiles are the same
+	 * 	@param	state to load
+	 */
+	public void loadFrom(GameState state) {
+		int same = 0;
+		while (same < Math.min(size, state.discardCount) && tiles[same].getId() == state.discards[same])
+			same++;
+		while (rows.size() > same / ROW)
+			rows.remove(rows.size() - 1);
+		Arrays.fill(tiles, 0, size, null);
+		Arrays.fill(counts, 0);
+		size = 0;
+		for (int i = 0; i < state.discardCount; i++)
+			tiles[size++] = Tile.fromId(state.discards[i]);
+		for (int i = 0; i < size; i++)
+			counts[tiles[i].getId()]++;
+	}
+
+	/**	@return	number of tiles in the pile	*/
+	public int size() {
+		return size;
+	}
+	/**	@return	a tile in the pile
+	 * 	@param	index of the tile, 0 for the first discarded
+	 */
+	public Tile get(int i) {
+		if (i < 0 || i >= size)
+			throw new IndexOutOfBoundsException("Index " + i + " out of " + size);
+		return tiles[i];
+	}
+	/**	@return	number of a tile in the pile
+	 * 	@param	id of the tile
+	 */
+	public int getCount(int id) {
+		return counts[id];
+	}
+	/**	@return	tiles added since the pile had a size, for following the
+	 * 			pile without copying all of it
+	 * 	@param	size of the pile last seen
+	 */
+	public List<Tile> since(int index) {
+		return Collections.unmodifiableList(Arrays.asList(tiles).subList(Math.min(index, size), size));
+	}
+
+	/**	Adds the pile to a frame, in rows of 10
+	 * 	@param	frame to add to
+	 */
+	public void render(TileRenderer frame) {
+		//	Render the full rows not rendered yet
+		while (rows.size() < size / ROW) {
+			int from = rows.size() * ROW;
+			rows.add(new TileRenderer().tiles(Arrays.asList(tiles), from, from + ROW).line("").toString());
+		}
+		for (String row: rows)
+			frame.text(row);
+		int from = rows.size() * ROW;
+		if (from < size)
+			frame.tiles(Arrays.asList(tiles), from, size).line("");
+	}
+}
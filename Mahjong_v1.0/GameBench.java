@@ -0,0 +1,166 @@
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+
+/**	GameBench class to measure whole headless games of 4 bots. A fixed set
+ * 	of seeds is played once to warm up, then again while measuring games
+ * 	per second, the time each turn takes (from one discard to the next),
+ * 	and the bytes allocated per game.
+ * 	Results are written to a properties file. If a baseline file exists,
+ * 	the results are compared to it and the program exits with status 1
+ * 	when games per second dropped by more than the threshold. If there is
+ * 	no baseline yet, the results are saved as the baseline.
+ * 	Used to catch slowdowns in Player and Bot, it is not used in the
+ * 	Mahjong game.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class GameBench implements GameListener {
+	//	Files results and the baseline are kept in
+	public static final String RESULTS_FILE = "gamebench-results.properties";
+	public static final String BASELINE_FILE = "gamebench-baseline.properties";
+
+	/*	Field variables	*/
+	//	Time taken by each turn in nanoseconds, filled before measuring
+	//	so recording a turn allocates nothing
+	private long[] turnNanos;
+	//	Number of turns recorded
+	private int turns;
+	//	Time of the last discard, or of the start of the game
+	private long lastTime;
+
+	/*	Constructors	*/
+	/**	GameBench with room for the turns of a number of games
+	 * 	@param	number of games
+	 */
+	public GameBench(int games) {
+		//	A game can't have more turns than tiles in the wall
+		turnNanos = new long[games * Wall.SIZE];
+	}
+
+	//	Main method
+	//	Arguments: number of games, first seed, allowed drop in games/sec
+	//	in percent
+	public static void main(String[] args) throws IOException {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+		if (games < 1)
+			throw new IllegalArgumentException("Number of games must be at least 1: " + games);
+
+		GameBench bench = new GameBench(games);
+		//	Warm up on the same seeds, then measure
+		bench.play(games, firstSeed);
+		Properties results = bench.play(games, firstSeed);
+		try (Writer out = new FileWriter(RESULTS_FILE)) {
+			results.store(out, "GameBench results");
+		}
+		System.out.println("Results written to " + RESULTS_FILE);
+
+		File baselineFile = new File(BASELINE_FILE);
+		if (!baselineFile.exists()) {
+			try (Writer out = new FileWriter(baselineFile)) {
+				results.store(out, "GameBench baseline");
+			}
+			System.out.println("No baseline found, results saved as " + BASELINE_FILE);
+			return;
+		}
+		Properties baseline = new Properties();
+		try (Reader in = new FileReader(baselineFile)) {
+			baseline.load(in);
+		}
+		if (!compare(results, baseline, threshold))
+			System.exit(1);
+	}
+
+	/**	Plays one game for every seed on this thread and measures them
+	 * 	@param	number of games
+	 * 	@param	first seed, seeds are consecutive from it
+	 * 	@return	results of the games
+	 */
+	public Properties play(int games, long firstSeed) {
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		turns = 0;
+		long totalTurns = 0;
+		int draws = 0;
+		long bytes = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < games; i++) {
+			Mahjong game = new Mahjong(this, firstSeed + i);
+			lastTime = System.nanoTime();
+			if (game.play() == null)
+				draws++;
+			totalTurns += game.getTurnCount();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+		long[] sorted = Arrays.copyOf(turnNanos, turns);
+		Arrays.sort(sorted);
+		Properties results = new Properties();
+		results.setProperty("games", String.valueOf(games));
+		results.setProperty("firstSeed", String.valueOf(firstSeed));
+		results.setProperty("draws", String.valueOf(draws));
+		results.setProperty("turns", String.valueOf(totalTurns));
+		results.setProperty("gamesPerSec", String.format(Locale.ROOT, "%.1f", games / seconds));
+		results.setProperty("turnP50Nanos", String.valueOf(percentile(sorted, 50)));
+		results.setProperty("turnP99Nanos", String.valueOf(percentile(sorted, 99)));
+		results.setProperty("bytesPerGame", String.valueOf(bytes / games));
+		return results;
+	}
+
+	/**	Records the time taken since the last discard as one turn
+	 * 	@param	player discarding
+	 * 	@param	tile discarded
+	 */
+	public void onDiscard(Player p, Tile t) {
+		long now = System.nanoTime();
+		if (turns < turnNanos.length)
+			turnNanos[turns++] = now - lastTime;
+		lastTime = now;
+	}
+
+	/**	Finds a percentile of sorted values
+	 * 	@param	sorted values
+	 * 	@param	percentile from 0 to 100
+	 * 	@return	value at that percentile, 0 if there are no values
+	 */
+	private static long percentile(long[] sorted, int percent) {
+		if (sorted.length == 0)
+			return 0;
+		return sorted[(int)Math.min(sorted.length - 1, (long)sorted.length * percent / 100)];
+	}
+
+	/**	Prints results next to a baseline and checks games per second
+	 * 	@param	results of this run
+	 * 	@param	baseline results
+	 * 	@param	allowed drop in games per second in percent
+	 * 	@return	whether games per second is within the threshold
+	 */
+	private static boolean compare(Properties results, Properties baseline, double threshold) {
+		System.out.printf("%-14s %14s %14s %9s%n", "", "baseline", "current", "change");
+		for (String key: new String[] {"gamesPerSec", "turnP50Nanos", "turnP99Nanos", "bytesPerGame"}) {
+			double before = Double.parseDouble(baseline.getProperty(key, "0"));
+			double after = Double.parseDouble(results.getProperty(key, "0"));
+			System.out.printf("%-14s %14.1f %14.1f %8.1f%%%n", key, before, after,
+					before == 0 ? 0 : 100 * (after - before) / before);
+		}
+		//	Same seeds should play the same games, otherwise bots changed
+		//	and the runs are not comparing the same work
+		if (!results.getProperty("games").equals(baseline.getProperty("games"))
+				|| !results.getProperty("firstSeed").equals(baseline.getProperty("firstSeed"))
+				|| !results.getProperty("turns").equals(baseline.getProperty("turns")))
+			System.out.println("WARNING: games played differ from the baseline");
+
+		double before = Double.parseDouble(baseline.getProperty("gamesPerSec", "0"));
+		double after = Double.parseDouble(results.getProperty("gamesPerSec", "0"));
+		if (after < before * (1 - threshold / 100)) {
+			System.out.printf("FAILED: games/sec dropped more than %.1f%%%n", threshold);
+			return false;
+		}
+		System.out.println("PASSED");
+		return true;
+	}
+}
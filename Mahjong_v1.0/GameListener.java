@@ -0,0 +1,44 @@
+/**	GameListener interface for Mahjong game. A listener is told about every
+ * 	move in a game as it happens, so a game can be followed without
+ * 	printing anything. Used by headless games, where nothing is printed
+ * 	to the console.
+ * 	All methods do nothing by default, so a listener only needs to
+ * 	override the events it cares about.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public interface GameListener {
+	//	Listener that ignores all events
+	public static final GameListener NONE = new GameListener() {};
+
+	/**	Called once when a game starts, before the tiles are dealt
+	 * 	@param	game starting, with its seed
+	 */
+	public default void onGameStart(Mahjong game) {}
+
+	/**	Called when a player adds a tile from the deck to their hand
+	 * 	@param	player drawing
+	 * 	@param	tile drawn
+	 * 	@param	whether the tile was drawn from the back after a KONG
+	 */
+	public default void onDraw(Player p, Tile t, boolean fromBack) {}
+
+	/**	Called when a player discards a tile
+	 * 	@param	player discarding
+	 * 	@param	tile discarded
+	 */
+	public default void onDiscard(Player p, Tile t) {}
+
+	/**	Called when a player makes a PENG, KONG, or CHI set
+	 * 	@param	player making the set
+	 * 	@param	type of set made
+	 * 	@param	tile taken to make the set
+	 */
+	public default void onClaim(Player p, TileSet.SET_TYPE type, Tile t) {}
+
+	/**	Called once when the game ends
+	 * 	@param	winning player, null if the game is a draw
+	 */
+	public default void onGameEnd(Player winner) {}
+}
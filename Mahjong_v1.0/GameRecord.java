@@ -0,0 +1,92 @@
+/**	GameRecord class for Mahjong game. Describes the binary format games
+ * 	are recorded in (see GameRecorder and RecordReader).
+ * 	A segment file starts with a header:
+ * 	int		MAGIC
+ * 	short		VERSION
+ * 	short		reserved, 0
+ * 	followed by games, each with a header and its actions:
+ * 	long		seed the wall was shuffled with
+ * 	short		number of actions
+ * 	short[]	actions
+ * 	Each action is 16 bits:
+ * 	bits 12-15	opcode
+ * 	bits 10-11	seat
+ * 	bits 6-9	extra, depending on the opcode
+ * 	bits 0-5	tile id
+ * 	The deal is not recorded, since it only depends on the seed.
+ * 	All numbers are big-endian.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class GameRecord {
+	//	Start of every segment file, "MJRC"
+	public static final int MAGIC = 0x4D4A5243;
+	//	Version of the format, 2 since a KONG claimer keeps the replacement tile
+	public static final short VERSION = 2;
+	//	Bytes in the segment header and in each game header
+	public static final int FILE_HEADER_BYTES = 8;
+	public static final int GAME_HEADER_BYTES = 10;
+
+	/*	Opcodes	*/
+	//	Player drew a tile, extra is 1 if drawn from the back after a KONG
+	public static final int DRAW = 1;
+	//	Player discarded a tile
+	public static final int DISCARD = 2;
+	//	Player made a KONG with the tile, a discard or a tile they drew
+	public static final int KONG = 3;
+	//	Player made a PENG with a discard
+	public static final int PENG = 4;
+	//	Player made a CHI with a discard, extra is how far the tile is
+	//	above the lowest tile of the set
+	public static final int CHI = 5;
+	//	Player won with the tile
+	public static final int WIN = 6;
+	//	Game ended in a draw
+	public static final int DRAW_GAME = 7;
+
+	/**	@return	action packed into 16 bits
+	 * 	@param	opcode
+	 * 	@param	seat of the player
+	 * 	@param	tile id
+	 * 	@param	extra bits
+	 */
+	public static short encode(int opcode, int seat, int tile, int extra) {
+		return (short)(opcode << 12 | seat << 10 | extra << 6 | tile);
+	}
+
+	/**	@return	opcode of an action
+	 * 	@param	action
+	 */
+	public static int opcode(short action) {
+		return (action >> 12) & 0xF;
+	}
+	/**	@return	seat of an action
+	 * 	@param	action
+	 */
+	public static int seat(short action) {
+		return (action >> 10) & 3;
+	}
+	/**	@return	extra bits of an action
+	 * 	@param	action
+	 */
+	public static int extra(short action) {
+		return (action >> 6) & 0xF;
+	}
+	/**	@return	tile id of an action
+	 * 	@param	action
+	 */
+	public static int tile(short action) {
+		return action & 0x3F;
+	}
+
+	/**	@return	action written as text, such as "2 DISCARD 17"
+	 * 	@param	action
+	 */
+	public static String toString(short action) {
+		String[] names = {"?", "DRAW", "DISCARD", "KONG", "PENG", "CHI", "WIN", "DRAW_GAME"};
+		int op = opcode(action);
+		return seat(action) + " " + (op < names.length ? names[op] : "?") + " " + tile(action)
+				+ (extra(action) != 0 ? " +" + extra(action) : "");
+	}
+}
@@ -0,0 +1,114 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**	GameRecorder class to append recorded games to segment files in a
+ * 	directory (see GameRecord for the format). A new segment is started
+ * 	when the current one would grow past the segment size, and segments
+ * 	already in the directory are never written over, so games can be
+ * 	added by many runs.
+ * 	Games may be appended from many threads, each game is written whole.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class GameRecorder implements AutoCloseable {
+	//	Default most bytes in one segment
+	public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+	/*	Field variables	*/
+	//	Directory segments are written to
+	private Path directory;
+	//	Most bytes in one segment
+	private long segmentBytes;
+	//	Number of the next segment to start
+	private int nextSegment;
+	//	Segment being written, null until the first game
+	private FileChannel segment;
+	//	Game being written
+	private ByteBuffer buffer;
+	//	Number of games appended
+	private long games;
+
+	/*	Constructors	*/
+	/**	@param	directory segments are written to	*/
+	public GameRecorder(Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_BYTES);
+	}
+	/**	@param	directory segments are written to
+	 * 	@param	most bytes in one segment
+	 */
+	public GameRecorder(Path directory, long segmentBytes) throws IOException {
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		Files.createDirectories(directory);
+		//	Start after the segments already there
+		List<Path> existing = RecordReader.listSegments(directory);
+		nextSegment = existing.isEmpty() ? 0 : RecordReader.segmentNumber(existing.get(existing.size() - 1)) + 1;
+		buffer = ByteBuffer.allocate(GameRecord.GAME_HEADER_BYTES + 2 * 4 * Wall.SIZE);
+	}
+
+	//	Main method
+	//	Arguments: [games] [first seed] [directory]
+	public static void main(String[] args) throws IOException {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		Path directory = Paths.get(args.length > 2 ? args[2] : "records");
+		long start = System.nanoTime();
+		try (GameRecorder recorder = new GameRecorder(directory)) {
+			RecordingListener listener = new RecordingListener(recorder);
+			for (int i = 0; i < games; i++)
+				new Mahjong(listener, firstSeed + i).play();
+		}
+		System.out.printf("Recorded %d games to %s in %.2f s%n", games, directory,
+				(System.nanoTime() - start) / 1e9);
+	}
+
+	/**	Appends one game to the current segment
+	 * 	@param	seed the wall was shuffled with
+	 * 	@param	actions of the game
+	 * 	@param	number of actions
+	 */
+	public synchronized void append(long seed, short[] actions, int count) throws IOException {
+		buffer.clear();
+		buffer.putLong(seed);
+		buffer.putShort((short)count);
+		for (int i = 0; i < count; i++)
+			buffer.putShort(actions[i]);
+		buffer.flip();
+		if (segment == null || segment.position() + buffer.remaining() > segmentBytes)
+			startSegment();
+		while (buffer.hasRemaining())
+			segment.write(buffer);
+		games++;
+	}
+
+	/**	Closes the current segment and starts the next one with a header	*/
+	private void startSegment() throws IOException {
+		if (segment != null)
+			segment.close();
+		Path path = directory.resolve(RecordReader.segmentName(nextSegment++));
+		segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(GameRecord.FILE_HEADER_BYTES);
+		header.putInt(GameRecord.MAGIC);
+		header.putShort(GameRecord.VERSION);
+		header.putShort((short)0);
+		header.flip();
+		while (header.hasRemaining())
+			segment.write(header);
+	}
+
+	/**	@return	number of games appended	*/
+	public synchronized long getGames() {
+		return games;
+	}
+
+	/**	Closes the current segment	*/
+	public synchronized void close() throws IOException {
+		if (segment != null)
+			segment.close();
+		segment = null;
+	}
+}
@@ -0,0 +1,158 @@
+import java.io.*;
+import java.lang.management.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**	GameServer class to host many Mahjong tables in one program. Every
+ * 	table runs on its own virtual thread, so a table waiting for a person
+ * 	to answer or pausing between moves costs no platform thread, and a
+ * 	small pool of carrier threads runs all tables.
+ * 	There are 2 modes:
+ * 	serve	- listens on a local port, and every connection plays at its
+ * 			own table against 3 bots, with prompts and the game sent over
+ * 			the connection (try it with a tool such as telnet or nc)
+ * 	load	- starts many tables of 4 bots that pause between moves like a
+ * 			game with people in it, then reports how many tables are
+ * 			running and how many platform threads it took
+ * 	The number of carrier threads can be set with the system property
+ * 	jdk.virtualThreadScheduler.parallelism.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class GameServer {
+	//	Default port to listen on
+	public static final int DEFAULT_PORT = 7777;
+
+	/*	Field variables	*/
+	//	Port to listen on
+	private int port;
+	//	Number of tables started, running, and finished
+	private AtomicLong started;
+	private AtomicLong running;
+	private AtomicLong finished;
+
+	/*	Constructors	*/
+	/**	@param	port to listen on	*/
+	public GameServer(int port) {
+		this.port = port;
+		started = new AtomicLong();
+		running = new AtomicLong();
+		finished = new AtomicLong();
+	}
+
+	//	Main method
+	//	Arguments: serve [port]
+	//	           load [tables] [seconds to run]
+	public static void main(String[] args) throws Exception {
+		String mode = args.length > 0 ? args[0] : "serve";
+		if (mode.equals("load")) {
+			int tables = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+			int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+			new GameServer(DEFAULT_PORT).runLoad(tables, seconds);
+		}
+		else {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+			new GameServer(port).serve();
+		}
+	}
+
+	/**	Accepts connections on the local port forever, starting a table on
+	 * 	a virtual thread for each one
+	 */
+	public void serve() throws IOException {
+		try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+			System.out.println("Mahjong server listening on port " + port);
+			while (true) {
+				Socket socket = server.accept();
+				long seed = new SplittableRandom().nextLong();
+				startTable(() -> playConnection(socket, seed));
+			}
+		}
+	}
+
+	/**	Plays one game with the person on a connection at seat 0
+	 * 	@param	connection to the person
+	 * 	@param	seed of the game
+	 */
+	private void playConnection(Socket socket, long seed) {
+		try (socket) {
+			//	Output is flushed before every prompt and pause
+			PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false);
+			Prompt prompt = new Prompt(socket.getInputStream(), out);
+			Player[] players = makePlayers(seed, false);
+			Agent bots = new BotAgent();
+			Agent[] agents = {new ConsoleAgent(prompt), bots, bots, bots};
+			out.println("Welcome to Mahjong 13 Tiles. You are player 0.");
+			out.println("Any time you are prompted, you may enter -1 to exit the game.");
+			new Mahjong(players, agents, seed, out).play();
+			out.flush();
+		}
+		//	The connection closed or the person left the game
+		catch (IOException | UncheckedIOException | IllegalStateException e) {}
+	}
+
+	/**	Starts tables of 4 bots that pause between moves, waits, then
+	 * 	prints how the server is doing
+	 * 	@param	number of tables
+	 * 	@param	seconds to wait before reporting
+	 */
+	public void runLoad(int tables, int seconds) throws InterruptedException {
+		PrintStream none = new PrintStream(OutputStream.nullOutputStream());
+		long start = System.nanoTime();
+		for (int i = 0; i < tables; i++) {
+			long seed = i;
+			startTable(() -> {
+				Agent bots = new BotAgent();
+				new Mahjong(makePlayers(seed, true), new Agent[] {bots, bots, bots, bots}, seed, none).play();
+			});
+		}
+		System.out.printf("Started %d tables in %.2f s%n", tables, (System.nanoTime() - start) / 1e9);
+		for (int i = 0; i < seconds; i++) {
+			Thread.sleep(1000);
+			printStatus();
+		}
+	}
+
+	/**	Runs a table on a new virtual thread, counting it while it runs
+	 * 	@param	game to play
+	 */
+	private void startTable(Runnable table) {
+		started.incrementAndGet();
+		running.incrementAndGet();
+		Thread.ofVirtual().name("table-" + started.get()).start(() -> {
+			try {
+				table.run();
+			}
+			finally {
+				running.decrementAndGet();
+				finished.incrementAndGet();
+			}
+		});
+	}
+
+	/**	Makes the players of a table, with bots seeded from the game seed
+	 * 	@param	seed of the game
+	 * 	@param	whether every seat is a bot, otherwise seat 0 is a person
+	 * 	@return	players by seat
+	 */
+	public static Player[] makePlayers(long seed, boolean allBots) {
+		//	Skip the first split, the same as in Mahjong
+		SplittableRandom random = new SplittableRandom(seed);
+		random.split();
+		Player[] players = new Player[4];
+		for (int i = 0; i < 4; i++)
+			players[i] = i == 0 && !allBots ? new Player(0, false) : new Bot(i, random.split());
+		return players;
+	}
+
+	/**	Prints the number of tables and threads, and memory used	*/
+	public void printStatus() {
+		Runtime runtime = Runtime.getRuntime();
+		System.out.printf("Tables running: %d, finished: %d, platform threads: %d, heap used: %d MB%n",
+				running.get(), finished.get(), ManagementFactory.getThreadMXBean().getThreadCount(),
+				(runtime.totalMemory() - runtime.freeMemory()) >> 20);
+	}
+}
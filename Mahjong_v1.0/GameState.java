@@ -0,0 +1,166 @@
+import java.util.*;
+
+/**	GameState class for Mahjong game. Holds everything about a game in
+ * 	progress in primitive arrays of a fixed size: the wall and its cursors,
+ * 	the discards, the visible tile counts, each seat's hand counts and
+ * 	shown sets, the hidden sets and junk tiles of bots, and the turn.
+ * 	A game saves itself into a state and loads itself back from one (see
+ * 	Mahjong, Player and Bot), and one state is copied into another with
+ * 	array copies only, so search can keep and restore positions as often
+ * 	as it likes without making objects.
+ * 	Sets are packed into one int each (see TileSet.getCode()).
+ * 	The random numbers of bots and games are not part of the state, a
+ * 	loaded bot keeps its own.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class GameState {
+	//	Most sets a seat can have shown, or hidden as a bot
+	public static final int MAX_SETS = 8;
+
+	/*	Field variables, read and written by the classes saving to it	*/
+	//	Tile ids of the wall in the order drawn from the front, the index
+	//	of the next tile from the front and after the next from the back,
+	//	and the seed it was shuffled with
+	final int[] wall;
+	int head;
+	int tail;
+	long seed;
+	//	Tile ids of the discards in order, and how many there are
+	final int[] discards;
+	int discardCount;
+	//	Number of each tile every player can see, by id
+	final int[] visible;
+	//	Count of each tile in each hand, by seat * Tile.NUM_TYPES + id
+	final int[] hands;
+	//	Codes of shown sets, by seat * MAX_SETS + index, and how many each
+	//	seat has
+	final int[] shown;
+	final int[] shownSizes;
+	//	Codes of bots' hidden sets, by seat * MAX_SETS + index, and how many
+	//	each bot has
+	final int[] hidden;
+	final int[] hiddenSizes;
+	//	Count of each tile in bots' junk, by seat * Tile.NUM_TYPES + id
+	final int[] junk;
+	//	Tiles bots' hidden sets can KONG, PENG and CHI, by seat * 3
+	final long[] needs;
+	//	Seat whose turn it is, turns taken, id of the tile they take (-1 for
+	//	none), whether it came from the back, and winning seat (-1 for none)
+	int turn;
+	int turnCount;
+	int drawTile;
+	boolean fromBack;
+	int winner;
+
+	/*	Constructors	*/
+	/**	Empty state, with room for any game	*/
+	public GameState() {
+		wall = new int[Wall.SIZE];
+		discards = new int[Wall.SIZE];
+		visible = new int[Tile.NUM_TYPES];
+		hands = new int[4 * Tile.NUM_TYPES];
+		shown = new int[4 * MAX_SETS];
+		shownSizes = new int[4];
+		hidden = new int[4 * MAX_SETS];
+		hiddenSizes = new int[4];
+		junk = new int[4 * Tile.NUM_TYPES];
+		needs = new long[4 * 3];
+		drawTile = -1;
+		winner = -1;
+	}
+
+	/**	Copies this state into another, making no objects
+	 * 	@param	state to overwrite
+	 */
+	public void copyInto(GameState to) {
+		System.arraycopy(wall, 0, to.wall, 0, wall.length);
+		to.head = head;
+		to.tail = tail;
+		to.seed = seed;
+		System.arraycopy(discards, 0, to.discards, 0, discardCount);
+		to.discardCount = discardCount;
+		System.arraycopy(visible, 0, to.visible, 0, visible.length);
+		System.arraycopy(hands, 0, to.hands, 0, hands.length);
+		System.arraycopy(shown, 0, to.shown, 0, shown.length);
+		System.arraycopy(shownSizes, 0, to.shownSizes, 0, shownSizes.length);
+		System.arraycopy(hidden, 0, to.hidden, 0, hidden.length);
+		System.arraycopy(hiddenSizes, 0, to.hiddenSizes, 0, hiddenSizes.length);
+		System.arraycopy(junk, 0, to.junk, 0, junk.length);
+		System.arraycopy(needs, 0, to.needs, 0, needs.length);
+		to.turn = turn;
+		to.turnCount = turnCount;
+		to.drawTile = drawTile;
+		to.fromBack = fromBack;
+		to.winner = winner;
+	}
+	/**	Overwrites this state with another, making no objects
+	 * 	@param	state to copy
+	 */
+	public void restore(GameState from) {
+		from.copyInto(this);
+	}
+
+	/*	Accessor methods	*/
+	/**	@return	number of tiles left in the wall	*/
+	public int getWallRemaining() {
+		return tail - head;
+	}
+	/**	@return	count of a tile in a hand
+	 * 	@param	seat of the hand
+	 * 	@param	id of the tile
+	 */
+	public int getCount(int seat, int id) {
+		return hands[seat * Tile.NUM_TYPES + id];
+	}
+	/**	@return	number of tiles in a hand
+	 * 	@param	seat of the hand
+	 */
+	public int getHandSize(int seat) {
+		int size = 0;
+		for (int id = 0; id < Tile.NUM_TYPES; id++)
+			size += hands[seat * Tile.NUM_TYPES + id];
+		return size;
+	}
+	/**	@return	seat whose turn it is	*/
+	public int getTurn() {
+		return turn;
+	}
+	/**	@return	number of turns taken	*/
+	public int getTurnCount() {
+		return turnCount;
+	}
+	/**	@return	winning seat, -1 if nobody has won	*/
+	public int getWinner() {
+		return winner;
+	}
+
+	/**	Replaces a hand with tile ids dealt from an array, emptying the
+	 * 	seat's hidden sets and putting the whole hand in its junk, as a bot
+	 * 	that has not sorted its hand yet (see Bot.updateHand())
+	 * 	@param	seat of the hand
+	 * 	@param	tile ids to deal from
+	 * 	@param	index of the first id to use
+	 * 	@param	number of tiles to deal
+	 */
+	public void dealHand(int seat, int[] ids, int from, int count) {
+		int base = seat * Tile.NUM_TYPES;
+		Arrays.fill(hands, base, base + Tile.NUM_TYPES, 0);
+		for (int i = from; i < from + count; i++)
+			hands[base + ids[i]]++;
+		System.arraycopy(hands, base, junk, base, Tile.NUM_TYPES);
+		hiddenSizes[seat] = 0;
+		needs[seat * 3] = 0;
+		needs[seat * 3 + 1] = 0;
+		needs[seat * 3 + 2] = 0;
+	}
+	/**	Replaces the tiles left in the wall with tile ids from an array
+	 * 	@param	tile ids to use, in order from the front
+	 * 	@param	index of the first id to use, the next getWallRemaining()
+	 * 			are used
+	 */
+	public void fillWall(int[] ids, int from) {
+		System.arraycopy(ids, from, wall, head, tail - head);
+	}
+}
@@ -0,0 +1,250 @@
+import java.lang.management.*;
+import java.util.*;
+
+/**	HandBench class to measure the hand checks that run every turn of a
+ * 	game. Each benchmark runs one operation over a fixed corpus of hands
+ * 	many times, warming up first so the code is compiled, then reports the
+ * 	throughput and the bytes allocated per operation.
+ * 	There are 2 corpora of 14 tile hands, both made from fixed seeds so
+ * 	every run measures the same hands:
+ * 	random	- the first 14 tiles of a shuffled wall
+ * 	flush	- 14 tiles all of one numbered suit, the hardest hands to split
+ * 			into sets
+ * 	For each hand, the first 13 tiles are the hand and the last is the
+ * 	tile drawn or discarded.
+ * 	Used to compare changes to Player, Bot and HandSuit, it is not used in
+ * 	the Mahjong game.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class HandBench {
+	//	Number of hands in each corpus, a power of 2
+	private static final int CORPUS_SIZE = 1024;
+	//	Seed the corpora are made from
+	private static final long CORPUS_SEED = 17102026L;
+	//	Rounds run before and while measuring
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURE_ROUNDS = 10;
+	//	Time each round runs for
+	private static final long ROUND_NANOS = 200_000_000L;
+
+	//	Results of operations are added here so they can't be optimized away
+	private static volatile long sink;
+
+	/**	One operation to measure	*/
+	private interface Operation {
+		/**	Runs the operation on one hand of the corpus
+		 * 	@param	index of hand in corpus
+		 * 	@return	any result of the operation
+		 */
+		int run(int index);
+	}
+
+	/*	Field variables	*/
+	//	Name of corpus
+	private String corpusName;
+	//	Tile ids of each hand, 14 per hand
+	private int[][] hands;
+	//	Players holding the first 13 tiles of each hand
+	private Player[] players;
+	//	Bots holding the first 13 tiles of each hand, with hidden sets made
+	private Bot[] bots;
+	//	Largest suit of each hand
+	private HandSuit[] suits;
+	//	Engine for choosing discards, kept between operations as a bot does
+	private DiscardEngine engine;
+	//	Visible tile counts of every player and bot, with nothing seen as
+	//	the hands aren't in a game
+	private VisibleTiles visible;
+
+	/*	Constructors	*/
+	/**	Sets up the players and suits for a corpus of hands
+	 * 	@param	name of corpus
+	 * 	@param	tile ids of each hand
+	 */
+	public HandBench(String corpusName, int[][] hands) {
+		this.corpusName = corpusName;
+		this.hands = hands;
+		players = new Player[hands.length];
+		bots = new Bot[hands.length];
+		suits = new HandSuit[hands.length];
+		engine = new DiscardEngine();
+		visible = new VisibleTiles();
+		for (int i = 0; i < hands.length; i++) {
+			players[i] = new Player(0, true);
+			players[i].setVisibleTiles(visible);
+			bots[i] = new Bot(0, new SplittableRandom(i));
+			bots[i].setHeadless(true);
+			bots[i].setVisibleTiles(visible);
+			for (int j = 0; j < 13; j++) {
+				players[i].draw(Tile.fromId(hands[i][j]));
+				bots[i].draw(Tile.fromId(hands[i][j]));
+			}
+			bots[i].updateHand();
+			suits[i] = largestSuit(hands[i]);
+		}
+	}
+
+	//	Main method
+	//	Arguments: only run benchmarks with names containing this text
+	public static void main(String[] args) {
+		String filter = args.length > 0 ? args[0] : "";
+		System.out.printf("%-26s %-7s %14s %10s %10s%n", "Benchmark", "Corpus", "ops/sec", "error %", "bytes/op");
+		for (HandBench bench: new HandBench[] {
+				new HandBench("random", randomHands()), new HandBench("flush", flushHands())})
+			bench.runAll(filter);
+		//	Print the sink so it is used
+		if (sink == 42)
+			System.out.println();
+	}
+
+	/**	Runs every benchmark on this corpus
+	 * 	@param	only run benchmarks with names containing this text
+	 */
+	public void runAll(String filter) {
+		//	HandSuit lookup of one suit, including encoding its key
+		run("HandSuit.isWinning", filter, i -> suits[i].isWinning(suits[i].isCountRightPair()) ? 1 : 0);
+		//	Win check of a tile after the hand changed, as after every turn
+		run("Player.hasWon(Tile)", filter, i -> {
+			Player p = players[i];
+			Tile t = Tile.fromId(hands[i][13]);
+			//	Drawing and deleting a tile leaves the hand the same, but the
+			//	win state has to be looked at again
+			p.draw(t);
+			p.handDelete(t);
+			return p.hasWon(t) ? 1 : 0;
+		});
+		run("Player.canPeng", filter, i -> players[i].canPeng(Tile.fromId(hands[i][13])) ? 1 : 0);
+		run("Player.canKong", filter, i -> players[i].canKong(Tile.fromId(hands[i][13])) ? 1 : 0);
+		run("Player.canChi", filter, i -> players[i].canChi(Tile.fromId(hands[i][13])) ? 1 : 0);
+		run("Bot.canPeng", filter, i -> bots[i].canPeng(Tile.fromId(hands[i][13])) ? 1 : 0);
+		run("Bot.canKong", filter, i -> bots[i].canKong(Tile.fromId(hands[i][13])) ? 1 : 0);
+		run("Bot.canChi", filter, i -> bots[i].canChi(Tile.fromId(hands[i][13])) ? 1 : 0);
+		//	Choosing a discard from all 14 tiles, as after every draw
+		run("DiscardEngine.evaluate", filter, i -> {
+			Player p = players[i];
+			Tile t = Tile.fromId(hands[i][13]);
+			p.draw(t);
+			engine.evaluate(p);
+			p.handDelete(t);
+			return engine.getUkeire(t.getId());
+		});
+		//	Bot benchmarks change the bot, so each makes a new one. Dealing
+		//	a new bot is measured alone so it can be taken away
+		run("Bot deal", filter, i -> deal(i).getHandSize());
+		run("Bot.updateHand", filter, i -> {
+			Bot b = deal(i);
+			b.updateHand();
+			return b.getHidden().size();
+		});
+		run("Bot.discard", filter, i -> deal(i).discard().getId());
+	}
+
+	/**	Makes a new bot holding all 14 tiles of a hand
+	 * 	@param	index of hand in corpus
+	 * 	@return	bot dealt the hand
+	 */
+	private Bot deal(int index) {
+		Bot b = new Bot(0, new SplittableRandom(index));
+		b.setHeadless(true);
+		b.setVisibleTiles(visible);
+		for (int id: hands[index])
+			b.draw(Tile.fromId(id));
+		return b;
+	}
+
+	/**	Measures one operation and prints a row of results
+	 * 	@param	name of benchmark
+	 * 	@param	only run if the name contains this text
+	 * 	@param	operation to measure
+	 */
+	private void run(String name, String filter, Operation op) {
+		if (!name.contains(filter))
+			return;
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		double[] rates = new double[MEASURE_ROUNDS];
+		long totalOps = 0;
+		long totalBytes = 0;
+		for (int round = 0; round < WARMUP_ROUNDS + MEASURE_ROUNDS; round++) {
+			long ops = 0;
+			long result = 0;
+			long bytes = threads.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			long elapsed;
+			//	Go through the whole corpus between reading the clock
+			do {
+				for (int i = 0; i < hands.length; i++)
+					result += op.run(i);
+				ops += hands.length;
+				elapsed = System.nanoTime() - start;
+			} while (elapsed < ROUND_NANOS);
+			bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+			sink += result;
+			if (round >= WARMUP_ROUNDS) {
+				rates[round - WARMUP_ROUNDS] = ops * 1e9 / elapsed;
+				totalOps += ops;
+				totalBytes += bytes;
+			}
+		}
+		//	Mean rate and the spread of rounds around it
+		double mean = 0;
+		for (double rate: rates)
+			mean += rate / MEASURE_ROUNDS;
+		double variance = 0;
+		for (double rate: rates)
+			variance += (rate - mean) * (rate - mean) / (MEASURE_ROUNDS - 1);
+		System.out.printf("%-26s %-7s %14.0f %10.2f %10.1f%n", name, corpusName, mean,
+				100 * Math.sqrt(variance) / mean, (double)totalBytes / totalOps);
+	}
+
+	/**	Makes a HandSuit of the suit with the most tiles in a hand
+	 * 	@param	tile ids of hand
+	 * 	@return	suit with the most tiles
+	 */
+	private static HandSuit largestSuit(int[] hand) {
+		int[] counts = new int[4];
+		for (int id: hand)
+			counts[id / 9]++;
+		int suit = 0;
+		for (int s = 1; s < 4; s++)
+			if (counts[s] > counts[suit])
+				suit = s;
+		Queue<Tile> tiles = new PriorityQueue<>(new TileComparator());
+		for (int id: hand)
+			if (id / 9 == suit)
+				tiles.add(Tile.fromId(id));
+		return new HandSuit(tiles, Tile.SUIT.values()[suit]);
+	}
+
+	/**	@return	hands of the first 14 tiles of shuffled walls	*/
+	private static int[][] randomHands() {
+		int[][] hands = new int[CORPUS_SIZE][14];
+		Wall wall = new Wall(CORPUS_SEED);
+		for (int i = 0; i < CORPUS_SIZE; i++) {
+			wall.reset(CORPUS_SEED + i);
+			for (int j = 0; j < 14; j++)
+				hands[i][j] = wall.draw().getId();
+		}
+		return hands;
+	}
+	/**	@return	hands of 14 tiles all from one numbered suit	*/
+	private static int[][] flushHands() {
+		int[][] hands = new int[CORPUS_SIZE][14];
+		SplittableRandom random = new SplittableRandom(CORPUS_SEED);
+		for (int i = 0; i < CORPUS_SIZE; i++) {
+			int suit = random.nextInt(3);
+			int[] counts = new int[9];
+			for (int j = 0; j < 14; j++) {
+				int value = random.nextInt(9);
+				//	At most 4 copies of each tile
+				while (counts[value] == 4)
+					value = random.nextInt(9);
+				counts[value]++;
+				hands[i][j] = suit * 9 + value;
+			}
+		}
+		return hands;
+	}
+}
@@ -9,10 +9,47 @@ import java.util.*;
  * 	@since	26 September 2024
  */
 public class HandSuit {
+	//	Powers of 5, the place value of each tile value in a suit key
+	public static final int[] POW5 = {1, 5, 25, 125, 625, 3125, 15625, 78125, 390625};
+	//	Number of possible suit keys (5^9)
+	public static final int KEY_COUNT = 1953125;
+	//	Flags in WIN_TABLE for a suit of only sets, or sets and one pair
+	private static final byte WIN_SETS = 1;
+	private static final byte WIN_PAIR = 2;
+	//	Win flags for every suit key, built once when the class loads
+	private static final byte[] WIN_TABLE = buildWinTable();
+	
 	//	Keep track of all of the tiles of a suit in a hand
 	private final Queue<Tile> tiles;
 	private Tile.SUIT type;
 	
+	//	Fills the win table in increasing key order. A suit is winning if
+	//	its lowest tile starts a 3 of a kind, a sequence, or the pair, and
+	//	the rest of the suit (a smaller key) is also winning.
+	private static byte[] buildWinTable() {
+		byte[] table = new byte[KEY_COUNT];
+		table[0] = WIN_SETS;
+		for (int key = 1; key < KEY_COUNT; key++) {
+			//	Find lowest value in the suit
+			int i = 0;
+			while ((key / POW5[i]) % 5 == 0)
+				i++;
+			int count = (key / POW5[i]) % 5;
+			byte flags = 0;
+			//	Lowest tile in a pair
+			if (count >= 2 && (table[key - 2 * POW5[i]] & WIN_SETS) != 0)
+				flags |= WIN_PAIR;
+			//	Lowest tile in a 3 of a kind
+			if (count >= 3)
+				flags |= table[key - 3 * POW5[i]];
+			//	Lowest tile in a sequence
+			if (i < 7 && (key / POW5[i + 1]) % 5 > 0 && (key / POW5[i + 2]) % 5 > 0)
+				flags |= table[key - POW5[i] - POW5[i + 1] - POW5[i + 2]];
+			table[key] = flags;
+		}
+		return table;
+	}
+	
 	//	Constructor
 	public HandSuit(Queue<Tile> suitTiles, Tile.SUIT suitType) {
 		tiles = suitTiles;
@@ -46,112 +83,35 @@ public class HandSuit {
 		//	If suit is spec, only check for sets of same numbers
 		if (getSuitType() == Tile.SUIT.SPEC)
 			return checkSpecial(shouldPair);
-		//	Try all combinations of sets that could contain the first tile
-		//	Queue to list
-		List<Tile> tileTemp = Tile.toList(new PriorityQueue<Tile>(this.tiles));
-		//	Call helper
-		return isWinningRecurse(shouldPair, tileTemp);
+		//	Encode the suit as a count key and look it up in the table
+		return isWinningKey(getKey(), shouldPair);
 	}
 	
-	//	Helper method
-	private boolean isWinningRecurse(boolean shouldPair, List<Tile> tiles) {
-		if (tiles.size() == 0)
-			return true;
-		//	Handle case if last pair
-		if (shouldPair && tiles.size() == 2) {
-			//	System.out.println("final pair: " + tiles.get(0) + tiles.get(1));
-			
-			return tiles.get(0).equals(tiles.get(1));
-		}
-		//	Handle general pair
-		else if (shouldPair && tiles.get(0).equals(tiles.get(1))) {
-			//	Remove pair from array
-			Tile temp1 = tiles.remove(0);
-			Tile temp2 = tiles.remove(0);
-			//	See if combo works
-			boolean result = isWinningRecurse(false, tiles);
-			//	Replace array
-			tiles.add(0, temp1);
-			tiles.add(1, temp2);
-			//	Only return if true, otherwise, continue with triples
-			if (result) {
-				//	System.out.println("found pair: " + temp1 + temp2);
-				
-				return true;
-			}
-		}
-		
-		//	No pairs
-		Tile t1 = tiles.get(0);
-		int i1 = 0;
-		Tile t2 = tiles.get(1);
-		int i2 = 1;
-		Tile t3 = tiles.get(2);
-		int i3 = 2;
-		
-		try {
-			//	Check if i1 and i3 are out of range for a set
-			while (t3.getValue() <= t1.getValue() + 2) {
-				//	Check if all 3 are the same
-				if (t1.equals(t2) && t2.equals(t3)) {
-					//	Remove set and test without this set
-					tiles.remove(i3);
-					tiles.remove(i2);
-					tiles.remove(i1);
-					boolean output = isWinningRecurse(shouldPair, tiles);
-					//	Replace tils then return or adjust
-					tiles.add(i1, t1);
-					tiles.add(i2, t2);
-					tiles.add(i3, t3);
-					//	Only return if true, otherwise increment second and third by 2
-					if (output) {
-						// System.out.println("found 3 of kind" + t1);
-						
-						return true;
-					}
-					i2 += 2;
-					i3 += 2;
-					t2 = tiles.get(i2);
-					t3 = tiles.get(i3);
-				}
-				//	Check if first 2 are the same
-				else if (t1.equals(t2)) {
-					i2++;
-					i3++;
-					t2 = tiles.get(i2);
-					t3 = tiles.get(i3);
-				}
-				//	Check if last 2 are the same
-				else if (t2.equals(t3)) {
-					i3++;
-					t3 = tiles.get(i3);
-				}
-				//	Otherwise 3 tiles are consecutive since first and last 
-				//	differ by 2 at most and all 3 tiles are different
-				else {
-					//	Remove 3 tiles and return won or lost as no more
-					//	valid triple to include first tile
-					tiles.remove(i3);
-					tiles.remove(i2);
-					tiles.remove(i1);
-					boolean result = isWinningRecurse(shouldPair, tiles);
-					//	Replace tiles
-					tiles.add(i1, t1);
-					tiles.add(i2, t2);
-					tiles.add(i3, t3);
-					
-					//	if (result)
-					//		System.out.println("found sequence: " + t1 + t2 + t3);
-					
-					return result;
-				}
-			}
-		}
-		catch (IndexOutOfBoundsException e) {
-			return false;
+	//	Base 5 key of this suit, each of the 9 values holds a count of 0-4
+	public int getKey() {
+		int key = 0;
+		for (Tile t: tiles)
+			key += POW5[t.getValue() - 1];
+		return key;
+	}
+	
+	//	Look up whether a suit key is only sets, or sets and exactly 1 pair
+	public static boolean isWinningKey(int key, boolean shouldPair) {
+		return (WIN_TABLE[key] & (shouldPair ? WIN_PAIR : WIN_SETS)) != 0;
+	}
+	
+	//	Check the 7 honor counts starting at index start for only 3 of a
+	//	kinds, and exactly one pair if shouldPair is true
+	public static boolean isWinningHonors(int[] counts, int start, boolean shouldPair) {
+		int pairs = 0;
+		for (int i = start; i < start + 7; i++) {
+			if (counts[i] == 2)
+				pairs++;
+			//	Honors can't be sequences, so any other count can't be used up
+			else if (counts[i] != 0 && counts[i] != 3)
+				return false;
 		}
-		
-		return false;
+		return pairs == (shouldPair ? 1 : 0);
 	}
 	
 	//	Return nth index of false -1 if doesn't exist
@@ -167,38 +127,9 @@ public class HandSuit {
 	
 	//	Check specials for only 3 of a kind and pairs if arg is true
 	private boolean checkSpecial(boolean shouldPair) {
-		Queue<Tile> tiles = new PriorityQueue<Tile>(this.tiles);
-		if (!shouldPair)
-			//	Check all triplets
-			while (!tiles.isEmpty()) {
-				Tile t1 = tiles.poll();
-				Tile t2 = tiles.poll();
-				Tile t3 = tiles.poll();
-				if (t1.equals(t2) && t2.equals(t3)) {}
-				else
-					return false;
-			}
-		else {
-			//	Check all triplets, considering pairs
-			while (tiles.size() > 2) {
-				Tile t1 = tiles.poll();
-				Tile t2 = tiles.poll();
-				Tile t3 = tiles.poll();
-				//	t1 has to equal t2
-				if (!t1.equals(t2))
-					return false;
-				//	Check t2 and t3 to see if trip or pair
-				else {
-					if (!t2.equals(t3)) {
-						tiles.add(t3);
-					}
-				}
-			}
-			//	Check for leftover 2
-			if (tiles.size() == 0)
-				return true;
-			return tiles.poll().equals(tiles.poll());
-		}
-		return true;
+		int[] counts = new int[7];
+		for (Tile t: tiles)
+			counts[t.getValue() - 1]++;
+		return isWinningHonors(counts, 0, shouldPair);
 	}
 }
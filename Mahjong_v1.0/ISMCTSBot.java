@@ -0,0 +1,475 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**	ISMCTSBot class extends Bot to choose discards and claims by
+ * 	information set Monte Carlo tree search. The tree is over what the bot
+ * 	knows, not the whole game: each node is one of the bot's decisions as
+ * 	it sees it (its hand, its sets, the tiles every player can see, the
+ * 	tiles left in the wall, and the question asked), and each edge is one
+ * 	answer to it. Histories that look the same to the bot share a node.
+ * 	Each iteration deals the tiles the bot hasn't seen at random (see
+ * 	Determinizer) and plays the copy on. At each of the bot's decisions it
+ * 	follows the edge with the best upper confidence bound, until it adds
+ * 	a node the tree doesn't have, then every seat plays on as a Bot would.
+ * 	How the bot did is added to every edge followed.
+ * 	Iterations run on a ForkJoinPool, one task per thread of the pool, all
+ * 	sharing one tree. Visits and scores are atomic counters and children
+ * 	are found in concurrent maps, so no thread ever locks the tree. An edge
+ * 	being followed counts as a loss until its result is added, so threads
+ * 	spread out over the edges instead of all trying the same one.
+ * 	A search stops at its time limit or once it has added its limit of
+ * 	nodes, and the most visited answer is made. Iterations being played
+ * 	at the time limit are finished first, which takes at most one game
+ * 	played out by bots. The node the bot's next decision reaches after
+ * 	that answer is kept as the root of the next search, with the visits
+ * 	it already has.
+ * 	Only discards leaving the lowest shanten are tried, the best few by
+ * 	ukeire (see DiscardEngine). Wins and draw-tile KONGs are always made,
+ * 	as a Bot makes them.
+ * 	The bot answers its own decisions, so it is seated with itself as its
+ * 	agent. Without a game to copy it plays as a Bot.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class ISMCTSBot extends Bot implements Agent {
+	//	Time to search each decision by default, in milliseconds, and most
+	//	nodes to add to the tree
+	public static final long DEFAULT_MILLIS = 100;
+	public static final int DEFAULT_NODES = 100000;
+	//	Most discards tried at each node
+	private static final int MAX_CANDIDATES = 5;
+	//	Score of an iteration the bot wins, and of one another player wins,
+	//	in thirds so the scores of all 4 seats add up to 0 (a draw is 0)
+	private static final int WIN_SCORE = 3;
+	private static final int LOSS_SCORE = -1;
+	//	Weight of trying edges with few visits, against scores from -1/3
+	//	to 1
+	private static final double EXPLORATION = 0.7;
+	//	Agent playing every seat once an iteration leaves the tree, it keeps
+	//	nothing so it is shared
+	private static final Agent BOTS = new BotAgent();
+
+	/*	Field variables	*/
+	//	Pool the iterations run on
+	private ForkJoinPool pool;
+	//	Time to search each decision, in nanoseconds
+	private long nanos;
+	//	Most nodes to add to the tree in each decision
+	private int maxNodes;
+	//	Random numbers split off for each search task
+	private SplittableRandom searchRandom;
+	//	Game of the last search, and the edge answered in it, whose
+	//	children may hold the root of the next search
+	private Mahjong lastGame;
+	private Edge lastEdge;
+	//	Sequence chosen for the CHI just claimed, asked for right after
+	private int chiOption;
+	//	Number of decisions searched, iterations played in them, and
+	//	searches starting from a node kept from the last one
+	private long searches;
+	private long iterations;
+	private long reused;
+
+	/*	Constructors	*/
+	/**	Bot searching on the common ForkJoinPool, with the default node
+	 * 	limit
+	 * 	@param	player number
+	 * 	@param	random numbers for breaking ties and dealing iterations
+	 * 	@param	time to search each decision, in milliseconds
+	 */
+	public ISMCTSBot(int playerNum, SplittableRandom random, long millis) {
+		this(playerNum, random, millis, DEFAULT_NODES, ForkJoinPool.commonPool());
+	}
+	/**	@param	player number
+	 * 	@param	random numbers for breaking ties and dealing iterations
+	 * 	@param	time to search each decision, in milliseconds
+	 * 	@param	most nodes to add to the tree in each decision
+	 * 	@param	pool to run iterations on
+	 */
+	public ISMCTSBot(int playerNum, SplittableRandom random, long millis, int maxNodes, ForkJoinPool pool) {
+		super(playerNum, random);
+		if (millis <= 0 || maxNodes <= 0)
+			throw new IllegalArgumentException("Search limits must be positive: " + millis + " ms, "
+					+ maxNodes + " nodes");
+		searchRandom = random.split();
+		nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+		this.maxNodes = maxNodes;
+		this.pool = pool;
+	}
+
+	/**	Answers one of this bot's decisions, searching discards and
+	 * 	claims on other players' discards
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		switch (d.getType()) {
+			case WIN:
+				d.setAnswer(1);
+				break;
+			case CLAIM:
+				//	A KONG with a drawn tile is always made
+				d.setAnswer(isSearched(d) ? search(d) : 1);
+				break;
+			case CHI_OPTION:
+				d.setAnswer(chiOption < d.getChiOptions().size() ? chiOption : 0);
+				break;
+			case DISCARD:
+				d.setAnswer(isSearched(d) ? search(d) : chooseDiscard().getId());
+				break;
+		}
+	}
+
+	/**	Searches a decision from the node kept from the last search if the
+	 * 	tree has it, or from a new root
+	 * 	@param	decision of this bot to search
+	 * 	@return	answer to the decision
+	 */
+	private int search(Decision d) {
+		Mahjong game = d.getGame();
+		Edge[] edges = edges(this, d);
+		long key = key(d, edges);
+		Node root = game == lastGame && lastEdge != null ? lastEdge.children.get(key) : null;
+		if (root != null)
+			reused++;
+		else
+			root = new Node(edges);
+		if (edges.length > 1) {
+			Tile discard = d.getType() == Decision.TYPE.CLAIM ? d.getTile() : null;
+			int claimBit = discard == null ? -1 : ClaimArbiter.bitOf(getPlayerNum(), d.getClaimType());
+			Search search = new Search(new Determinizer(game, this), root, discard, claimBit,
+					System.nanoTime() + nanos);
+			List<Iterations> tasks = new ArrayList<>();
+			for (int i = 0; i < pool.getParallelism(); i++) {
+				Iterations task = new Iterations(getPlayerNum(), maxNodes, search, new TreeAgent(search),
+						searchRandom.split());
+				tasks.add(task);
+				pool.execute(task);
+			}
+			for (Iterations task: tasks) {
+				task.join();
+				iterations += task.iterations;
+			}
+			searches++;
+		}
+		Edge best = root.mostVisited();
+		lastGame = game;
+		lastEdge = best;
+		chiOption = best.answers.length > 1 ? best.answers[1] : 0;
+		return best.answers[0];
+	}
+
+	/**	@return	whether a decision is searched: a discard, or a claim on
+	 * 			another player's discard
+	 * 	@param	decision of the bot's seat, in a game
+	 */
+	private static boolean isSearched(Decision d) {
+		if (d.getGame() == null)
+			return false;
+		return d.getType() == Decision.TYPE.DISCARD || (d.getType() == Decision.TYPE.CLAIM
+				&& d.getGame().getTurn() != d.getPlayer().getPlayerNum());
+	}
+
+	/**	Makes the edges of a node, one for each answer tried. Discards are
+	 * 	in order of id and claims before passing, so the same decision
+	 * 	always has the same edges.
+	 * 	@param	bot deciding
+	 * 	@param	decision to answer, a discard or a claim
+	 * 	@return	edges with no visits
+	 */
+	private static Edge[] edges(Bot b, Decision d) {
+		if (d.getType() == Decision.TYPE.DISCARD) {
+			b.chooseDiscard();
+			int[] ids = new int[MAX_CANDIDATES];
+			int n = b.getDiscardEngine().getCandidates(b, ids);
+			Arrays.sort(ids, 0, n);
+			Edge[] edges = new Edge[n];
+			for (int c = 0; c < n; c++)
+				edges[c] = new Edge(new Decision.TYPE[] {Decision.TYPE.DISCARD}, new int[] {ids[c]});
+			return edges;
+		}
+		List<Edge> edges = new ArrayList<>();
+		int options = d.getClaimType() == TileSet.SET_TYPE.CHI ? b.getChiOptions(d.getTile()).size() : 1;
+		if (options > 1) {
+			for (int k = 0; k < options; k++)
+				edges.add(new Edge(new Decision.TYPE[] {Decision.TYPE.CLAIM, Decision.TYPE.CHI_OPTION},
+						new int[] {1, k}));
+		}
+		else
+			edges.add(new Edge(new Decision.TYPE[] {Decision.TYPE.CLAIM}, new int[] {1}));
+		edges.add(new Edge(new Decision.TYPE[] {Decision.TYPE.CLAIM}, new int[] {0}));
+		return edges.toArray(new Edge[0]);
+	}
+
+	/**	Finds the key of the node of a decision, from what the deciding
+	 * 	player can see of the game
+	 * 	@param	decision to answer
+	 * 	@param	edges of the decision
+	 * 	@return	key, equal for decisions the player can't tell apart
+	 */
+	private static long key(Decision d, Edge[] edges) {
+		Player p = d.getPlayer();
+		Mahjong game = d.getGame();
+		long h = mix(d.getType().ordinal(), d.getTile() == null ? -1 : d.getTile().getId());
+		h = mix(h, d.getClaimType() == null ? -1 : d.getClaimType().ordinal());
+		h = mix(h, game.getTurn());
+		h = mix(h, game.getWall().remaining());
+		h = mix(h, p.getShownSize());
+		for (int id = 0; id < Tile.NUM_TYPES; id++)
+			h = mix(h, p.getCount(id) * 5 + game.getVisibleTiles().getSeen(id));
+		for (Edge e: edges)
+			for (int a: e.answers)
+				h = mix(h, a);
+		return h;
+	}
+	/**	@return	hash with one more value mixed in
+	 * 	@param	hash so far
+	 * 	@param	value to add
+	 */
+	private static long mix(long h, long x) {
+		h = (h ^ x) * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 32);
+	}
+
+	/**	@return	number of decisions searched	*/
+	public long getSearches() {
+		return searches;
+	}
+	/**	@return	number of iterations played over all searches	*/
+	public long getIterations() {
+		return iterations;
+	}
+	/**	@return	number of decisions started from a node kept from the
+	 * 			decision before
+	 */
+	public long getReused() {
+		return reused;
+	}
+
+	/**	One of the bot's decisions as it sees it, shared by every thread	*/
+	private static class Node {
+		//	One edge for each answer tried
+		final Edge[] edges;
+		//	Number of times an edge was followed from this node
+		final AtomicInteger visits;
+
+		Node(Edge[] edges) {
+			this.edges = edges;
+			visits = new AtomicInteger();
+		}
+
+		/**	Follows the edge with the best upper confidence bound, counting
+		 * 	it as a loss until the iteration's result is added
+		 * 	@return	edge followed
+		 */
+		Edge select() {
+			double log = Math.log(visits.get() + 1);
+			Edge best = null;
+			double bestBound = Double.NEGATIVE_INFINITY;
+			for (Edge e: edges) {
+				int n = e.visits.get();
+				if (n == 0) {
+					best = e;
+					break;
+				}
+				double bound = e.value.get() / (double)(WIN_SCORE * n) + EXPLORATION * Math.sqrt(log / n);
+				if (bound > bestBound) {
+					bestBound = bound;
+					best = e;
+				}
+			}
+			visits.incrementAndGet();
+			best.visits.incrementAndGet();
+			best.value.addAndGet(LOSS_SCORE);
+			return best;
+		}
+
+		/**	@return	edge followed most, the first of those tied	*/
+		Edge mostVisited() {
+			Edge best = edges[0];
+			for (Edge e: edges) {
+				if (e.visits.get() > best.visits.get())
+					best = e;
+			}
+			return best;
+		}
+	}
+
+	/**	One answer to a node, with the answers the bot makes right after
+	 * 	it, such as the sequence of a CHI
+	 */
+	private static class Edge {
+		//	Type of each decision answered, in order
+		final Decision.TYPE[] types;
+		//	Answer to each decision
+		final int[] answers;
+		//	Number of times followed, and total score of the iterations
+		final AtomicInteger visits;
+		final AtomicLong value;
+		//	Nodes of the bot's next decision after this answer, by key
+		final ConcurrentHashMap<Long, Node> children;
+
+		Edge(Decision.TYPE[] types, int[] answers) {
+			this.types = types;
+			this.answers = answers;
+			visits = new AtomicInteger();
+			value = new AtomicLong();
+			children = new ConcurrentHashMap<>(4);
+		}
+	}
+
+	/**	What a search starts from, read by every task	*/
+	private static class Search {
+		//	Copies of the game being played, dealt as the bot sees it
+		final Determinizer deals;
+		//	Node of the decision being searched
+		final Node root;
+		//	Discard being claimed, null for a discard decision
+		final Tile discard;
+		//	Bit of the claim being made
+		final int claimBit;
+		//	Time the search stops, from System.nanoTime()
+		final long deadline;
+		//	Number of nodes added to the tree
+		final AtomicInteger added;
+
+		Search(Determinizer deals, Node root, Tile discard, int claimBit, long deadline) {
+			this.deals = deals;
+			this.root = root;
+			this.discard = discard;
+			this.claimBit = claimBit;
+			this.deadline = deadline;
+			added = new AtomicInteger();
+		}
+	}
+
+	/**	Task playing iterations on the shared tree until the search's
+	 * 	time or node limit
+	 */
+	private static class Iterations extends RecursiveAction {
+		//	Version of the serialized form, tasks are never serialized
+		private static final long serialVersionUID = 1L;
+		//	Seat of the searching bot
+		private final int seat;
+		//	Most nodes to add to the tree
+		private final int maxNodes;
+		//	Search the iterations are for
+		private final transient Search search;
+		//	Agent playing every seat of the iterations
+		private final transient TreeAgent agent;
+		//	Random numbers for dealing
+		private final transient SplittableRandom random;
+		//	Number of iterations played
+		int iterations;
+
+		Iterations(int seat, int maxNodes, Search search, TreeAgent agent, SplittableRandom random) {
+			this.seat = seat;
+			this.maxNodes = maxNodes;
+			this.search = search;
+			this.agent = agent;
+			this.random = random;
+		}
+
+		protected void compute() {
+			Determinizer.Table table = search.deals.newTable(agent);
+			while (System.nanoTime() < search.deadline && search.added.get() < maxNodes) {
+				Mahjong copy = table.deal(random.split());
+				agent.start();
+				Player winner = search.discard == null ? copy.continueTurn()
+						: copy.continueClaims(search.discard, search.claimBit);
+				agent.finish(winner == null ? 0 : winner.getPlayerNum() == seat
+						? WIN_SCORE : LOSS_SCORE);
+				iterations++;
+			}
+		}
+	}
+
+	/**	Agent playing every seat of an iteration: the searching bot's
+	 * 	decisions follow the tree until a node is added, then every seat
+	 * 	plays as a Bot
+	 */
+	private class TreeAgent implements Agent {
+		//	Search the iterations are for
+		private final Search search;
+		//	Edges followed in the iteration
+		private final List<Edge> path;
+		//	Whether the iteration is still in the tree
+		private boolean inTree;
+		//	Edge just followed, null once its answers have been made
+		private Edge forced;
+		//	Index of the next answer of the edge
+		private int next;
+
+		TreeAgent(Search search) {
+			this.search = search;
+			path = new ArrayList<>();
+		}
+
+		/**	Starts an iteration at the root	*/
+		void start() {
+			path.clear();
+			inTree = true;
+			forced = null;
+		}
+		/**	Adds the result of an iteration to every edge followed,
+		 * 	replacing the loss counted while it was played
+		 * 	@param	score of the searching bot
+		 */
+		void finish(int score) {
+			for (Edge e: path)
+				e.value.addAndGet(score - LOSS_SCORE);
+		}
+
+		public void decide(Decision d) {
+			if (d.getPlayer().getPlayerNum() == getPlayerNum()) {
+				if (forced != null && next < forced.types.length && d.getType() == forced.types[next]) {
+					d.setAnswer(forced.answers[next++]);
+					return;
+				}
+				forced = null;
+				if (inTree && isSearched(d)) {
+					forced = follow(d);
+					if (forced != null) {
+						next = 1;
+						d.setAnswer(forced.answers[0]);
+						return;
+					}
+				}
+			}
+			BOTS.decide(d);
+		}
+
+		/**	Finds the node of a decision, adding it if the tree doesn't have
+		 * 	it and leaving the tree after, and follows an edge from it
+		 * 	@param	decision of the searching bot
+		 * 	@return	edge followed, null if the node limit kept the node from
+		 * 			being added
+		 */
+		private Edge follow(Decision d) {
+			Node node;
+			if (path.isEmpty())
+				node = search.root;
+			else {
+				Edge[] edges = edges((Bot)d.getPlayer(), d);
+				long key = key(d, edges);
+				Map<Long, Node> children = path.get(path.size() - 1).children;
+				node = children.get(key);
+				if (node == null) {
+					inTree = false;
+					if (search.added.get() >= maxNodes)
+						return null;
+					Node added = new Node(edges);
+					node = children.putIfAbsent(key, added);
+					if (node == null) {
+						node = added;
+						search.added.incrementAndGet();
+					}
+				}
+			}
+			Edge e = node.select();
+			path.add(e);
+			return e;
+		}
+	}
+}
@@ -27,17 +27,21 @@ public class IncompleteSet extends TileSet {
 		//	Get t3 needed
 		//	Pair
 		if (t1.equals(t2))
-			need.add(new Tile(t1));
+			need.add(t1);
 		//	Sequence
 		else if (t1.getSuit() == t2.getSuit()) {
-			//	Edge missing
+			//	Edge missing, only if the edge is a tile from 1-9
 			if (Math.abs(t1.getValue() - t2.getValue()) == 1) {
-				need.add(new Tile(t1.getSuit(), Math.min(t1.getValue(), t2.getValue()) - 1));
-				need.add(new Tile(t1.getSuit(), Math.max(t1.getValue(), t2.getValue()) + 1));
+				int low = Math.min(t1.getValue(), t2.getValue()) - 1;
+				int high = Math.max(t1.getValue(), t2.getValue()) + 1;
+				if (low >= 1)
+					need.add(Tile.of(t1.getSuit(), low));
+				if (high <= 9)
+					need.add(Tile.of(t1.getSuit(), high));
 			}
 			//	Center missing
 			else if (Math.abs(t1.getValue() - t2.getValue()) == 2) {
-				need.add(new Tile(t1.getSuit(), (t1.getValue() + t2.getValue()) / 2));
+				need.add(Tile.of(t1.getSuit(), (t1.getValue() + t2.getValue()) / 2));
 			}
 		}
 	}
@@ -0,0 +1,130 @@
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**	LoadClient class for load testing NioServer. Opens many connections at
+ * 	once, each on its own virtual thread, and plays every game with a
+ * 	script: it always wins and claims, makes the first CHI option, and
+ * 	discards a random tile of its hand. When every game has ended it
+ * 	prints how many games and answers the server handled per second.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class LoadClient {
+	/*	Field variables	*/
+	//	Address of the server
+	private InetSocketAddress address;
+	//	Number of games finished and failed, answers sent, and lines refused
+	private AtomicLong games;
+	private AtomicLong failed;
+	private AtomicLong answers;
+	private AtomicLong errors;
+
+	/*	Constructors	*/
+	/**	@param	port of the server on the local address	*/
+	public LoadClient(int port) {
+		address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		games = new AtomicLong();
+		failed = new AtomicLong();
+		answers = new AtomicLong();
+		errors = new AtomicLong();
+	}
+
+	//	Main method
+	//	Arguments: [connections] [port]
+	public static void main(String[] args) throws InterruptedException {
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : NioServer.DEFAULT_PORT;
+		new LoadClient(port).run(connections);
+	}
+
+	/**	Plays a game on each of many connections at once, then prints the
+	 * 	results
+	 * 	@param	number of connections
+	 */
+	public void run(int connections) throws InterruptedException {
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < connections; i++) {
+				long seed = i;
+				executor.execute(() -> play(seed));
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Connections: %d, games finished: %d, failed: %d, refused lines: %d%n",
+				connections, games.get(), failed.get(), errors.get());
+		System.out.printf("Time: %.2f s, games/sec: %.1f, answers/sec: %.1f%n",
+				seconds, games.get() / seconds, answers.get() / seconds);
+	}
+
+	/**	Plays one game on a new connection
+	 * 	@param	seed of the random discards
+	 */
+	private void play(long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		try (Socket socket = new Socket()) {
+			socket.connect(address);
+			socket.setTcpNoDelay(true);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), true);
+			int[] hand = new int[0];
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] words = line.split(" ");
+				switch (words[0]) {
+					case "STATE":
+						hand = parseHand(words[1]);
+						break;
+					case "WIN?":
+					case "KONG?":
+					case "PENG?":
+					case "CHI?":
+						answer(out, 1);
+						break;
+					case "CHIOPT?":
+						answer(out, 0);
+						break;
+					case "DISCARD?":
+						answer(out, hand[random.nextInt(hand.length)]);
+						break;
+					case "ERR":
+						errors.incrementAndGet();
+						break;
+					case "END":
+						games.incrementAndGet();
+						return;
+				}
+			}
+			failed.incrementAndGet();
+		}
+		catch (IOException e) {
+			failed.incrementAndGet();
+		}
+	}
+
+	/**	Sends one answer
+	 * 	@param	connection to the server
+	 * 	@param	answer to send
+	 */
+	private void answer(PrintWriter out, int answer) {
+		out.println(answer);
+		answers.incrementAndGet();
+	}
+
+	/**	@return	tile ids of a hand written as ids joined by commas
+	 * 	@param	hand as sent by the server
+	 */
+	private static int[] parseHand(String text) {
+		if (text.equals("-"))
+			return new int[0];
+		String[] ids = text.split(",");
+		int[] hand = new int[ids.length];
+		for (int i = 0; i < ids.length; i++)
+			hand[i] = Integer.parseInt(ids[i]);
+		return hand;
+	}
+}
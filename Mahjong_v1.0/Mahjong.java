@@ -1,5 +1,7 @@
+import java.io.PrintStream;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /** Chinese Mahjong 13 tiles game that runs in Powershell. This version
  * 	doesn not count score or use flower cards.
@@ -87,49 +89,154 @@ import java.util.concurrent.TimeUnit;
  * 	correctly sort tiles.
  */
 public class Mahjong {
-	//	All tiles in a deck of Mahjong
-	private static final String[] ALL_TILES = new String[]{
-		"TONG1", "TONG2", "TONG3", "TONG4", "TONG5", "TONG6", "TONG7", "TONG8", "TONG9", 
-		"TIAO1", "TIAO2", "TIAO3", "TIAO4", "TIAO5", "TIAO6", "TIAO7", "TIAO8", "TIAO9", 
-		"WAN1", "WAN2", "WAN3", "WAN4", "WAN5", "WAN6", "WAN7", "WAN8", "WAN9", 
-		"SPEC1", "SPEC2", "SPEC3", "SPEC4", "SPEC5", "SPEC6", "SPEC7",
-		"TONG1", "TONG2", "TONG3", "TONG4", "TONG5", "TONG6", "TONG7", "TONG8", "TONG9", 
-		"TIAO1", "TIAO2", "TIAO3", "TIAO4", "TIAO5", "TIAO6", "TIAO7", "TIAO8", "TIAO9",
-		"WAN1", "WAN2", "WAN3", "WAN4", "WAN5", "WAN6", "WAN7", "WAN8", "WAN9",
-		"SPEC1", "SPEC2", "SPEC3", "SPEC4", "SPEC5", "SPEC6", "SPEC7",
-		"TONG1", "TONG2", "TONG3", "TONG4", "TONG5", "TONG6", "TONG7", "TONG8", "TONG9",
-		"TIAO1", "TIAO2", "TIAO3", "TIAO4", "TIAO5", "TIAO6", "TIAO7", "TIAO8", "TIAO9", 
-		"WAN1", "WAN2", "WAN3", "WAN4", "WAN5", "WAN6", "WAN7", "WAN8", "WAN9",
-		"SPEC1", "SPEC2", "SPEC3", "SPEC4", "SPEC5", "SPEC6", "SPEC7",
-		"TONG1", "TONG2", "TONG3", "TONG4", "TONG5", "TONG6", "TONG7", "TONG8", "TONG9",
-		"TIAO1", "TIAO2", "TIAO3", "TIAO4", "TIAO5", "TIAO6", "TIAO7", "TIAO8", "TIAO9",
-		"WAN1", "WAN2", "WAN3", "WAN4", "WAN5", "WAN6", "WAN7", "WAN8", "WAN9",
-		"SPEC1", "SPEC2", "SPEC3", "SPEC4", "SPEC5", "SPEC6", "SPEC7"
-	};
-	
 	/*	Field variables	*/
 	//	Deck of tiles to draw from, has a front and back to take from
-	private Deque<Tile> deck;
-	//	Stack of discarded tiles
-	private Deque<Tile> discardPile;
+	private Wall wall;
+	//	Discards nobody claimed, in the order discarded
+	private DiscardPile discardPile;
+	//	Tiles every player can see, in the discards and shown sets
+	private VisibleTiles visible = new VisibleTiles();
 	//	Current turn, player index to play
 	private int turn;
 	//	4 Players
 	private Player[] players;
+	//	Finds who can claim each discard
+	private ClaimArbiter arbiter;
+	//	Agent making the decisions of each player, by seat
+	private Agent[] agents;
+	//	Winner of the game, null until someone wins
+	private Player winner;
+	//	Tile the player whose turn it is takes, null if they only discard
+	private Tile drawTile;
+	//	Whether drawTile was drawn from the back of the deck
+	private boolean fromBack;
+	
+	//	Number of turns taken so far
+	private int turnCount;
+	//	Seed the deck is shuffled with, the same seed makes the same deck
+	private long seed;
+	//	Random numbers split off for each bot
+	private SplittableRandom random;
+	
+	//	Whether the game runs without printing or pausing
+	private boolean headless;
+	//	Listener told about every move in the game
+	private GameListener listener;
+	//	Stream the game is printed to when not headless
+	private PrintStream out = System.out;
 	
 	/*	Constructors	*/
 	/**	No args default constructor */
 	public Mahjong() {
 		//	Initiallize field variables
-		deck = new ArrayDeque<>();
-		discardPile = new ArrayDeque<>();
+		discardPile = new DiscardPile();
 		players = new Player[4];
+		arbiter = new ClaimArbiter(players);
+		listener = GameListener.NONE;
+		seed = new SplittableRandom().nextLong();
+		wall = new Wall(seed);
+		random = new SplittableRandom(seed);
+		random.split();
 		
 		//	Add all players to player array
 		players[0] = new Player(0, false);
 		players[1] = new Bot(1);
 		players[2] = new Bot(2);
 		players[3] = new Bot(3);
+		//	The person at seat 0 plays on the console
+		Agent bots = new BotAgent();
+		agents = new Agent[] {new ConsoleAgent(), bots, bots, bots};
+	}
+	/**	Constructor for a headless game of 4 bots. Nothing is printed and
+	 * 	there are no pauses, moves are only sent to the listener.
+	 * 	@param	listener to send moves to
+	 */
+	public Mahjong(GameListener listener) {
+		this(listener, new SplittableRandom().nextLong());
+	}
+	/**	Constructor for a headless game of 4 bots with a given seed.
+	 * 	Games with the same seed play out exactly the same way.
+	 * 	@param	listener to send moves to
+	 * 	@param	seed for shuffling and bot decisions
+	 */
+	public Mahjong(GameListener listener, long seed) {
+		this(listener, seed, new BotAgent());
+	}
+	/**	Constructor for a headless game of 4 bots, all making decisions
+	 * 	with the same agent. The agent may be shared with other games.
+	 * 	@param	listener to send moves to
+	 * 	@param	seed for shuffling and bot decisions
+	 * 	@param	agent making every decision
+	 */
+	public Mahjong(GameListener listener, long seed, Agent agent) {
+		//	Initiallize field variables
+		discardPile = new DiscardPile();
+		players = new Player[4];
+		arbiter = new ClaimArbiter(players);
+		headless = true;
+		this.listener = listener;
+		this.seed = seed;
+		wall = new Wall(seed);
+		//	The first split is used to shuffle the wall, so skip it
+		random = new SplittableRandom(seed);
+		random.split();
+		
+		//	All players are headless bots
+		for (int i = 0; i < 4; i++) {
+			players[i] = new Bot(i, random.split());
+			players[i].setHeadless(true);
+		}
+		agents = new Agent[] {agent, agent, agent, agent};
+	}
+	/**	Constructor for a game printed to any stream, such as a table on
+	 * 	a server. Each seat has its own player and agent.
+	 * 	@param	players by seat
+	 * 	@param	agents making the decisions of each player, by seat
+	 * 	@param	seed for shuffling
+	 * 	@param	stream the game is printed to
+	 */
+	public Mahjong(Player[] players, Agent[] agents, long seed, PrintStream out) {
+		discardPile = new DiscardPile();
+		this.players = players;
+		arbiter = new ClaimArbiter(players);
+		this.agents = agents;
+		listener = GameListener.NONE;
+		this.seed = seed;
+		wall = new Wall(seed);
+		random = new SplittableRandom(seed);
+		random.split();
+		this.out = out;
+		for (Player p: players)
+			p.setOutput(out);
+	}
+	/**	Constructor for a headless copy of a game in progress, to look
+	 * 	ahead by playing it on a different way (see continueTurn and
+	 * 	continueClaims). The discards, visible tiles, turn, and seed are
+	 * 	copied, the players and wall are given, such as a guess at the tiles
+	 * 	a player can't see. The game copied is not changed.
+	 * 	@param	game to copy
+	 * 	@param	players by seat, holding the tiles of the copy
+	 * 	@param	wall of the copy, with the same number of tiles left
+	 * 	@param	agent making every decision
+	 */
+	public Mahjong(Mahjong game, Player[] players, Wall wall, Agent agent) {
+		discardPile = new DiscardPile(game.discardPile);
+		visible = new VisibleTiles(game.visible);
+		this.players = players;
+		arbiter = new ClaimArbiter(players);
+		agents = new Agent[] {agent, agent, agent, agent};
+		headless = true;
+		listener = GameListener.NONE;
+		seed = game.seed;
+		this.wall = wall;
+		random = new SplittableRandom(seed);
+		random.split();
+		turn = game.turn;
+		turnCount = game.turnCount;
+		for (Player p: players) {
+			p.setHeadless(true);
+			p.setVisibleTiles(visible);
+		}
 	}
 	
 	//	Main method
@@ -141,6 +248,112 @@ public class Mahjong {
 		
 	}
 	
+	/**	Sets up and runs a whole game
+	 * 	@return	winning player, null if the game is a draw
+	 */
+	public Player play() {
+		listener.onGameStart(this);
+		setup();
+		run();
+		return winner;
+	}
+	
+	/**	@return	the wall tiles are drawn from	*/
+	public Wall getWall() {
+		return wall;
+	}
+	/**	@return	discards nobody claimed, in the order discarded	*/
+	public DiscardPile getDiscardPile() {
+		return discardPile;
+	}
+	/**	@return	counts of the tiles every player can see	*/
+	public VisibleTiles getVisibleTiles() {
+		return visible;
+	}
+	/**	@return	seed the deck was shuffled with	*/
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**	Sets whether the game and its players run without printing or
+	 * 	pausing
+	 * 	@param	whether the game is headless
+	 */
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+		for (Player p: players)
+			p.setHeadless(headless);
+	}
+	/**	Sets the listener told about every move in the game
+	 * 	@param	listener to send moves to
+	 */
+	public void setListener(GameListener listener) {
+		this.listener = listener;
+	}
+	
+	/**	@return	seat of player taking the current turn	*/
+	public int getTurn() {
+		return turn;
+	}
+	/**	@return	player at a seat
+	 * 	@param	seat number
+	 */
+	public Player getPlayer(int seat) {
+		return players[seat];
+	}
+	
+	/**	@return	number of turns taken in the game so far	*/
+	public int getTurnCount() {
+		return turnCount;
+	}
+
+	/**	Saves the whole game into a game state: the wall, discards, visible
+	 * 	tiles, every player, and the turn
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		wall.saveTo(state);
+		discardPile.saveTo(state);
+		visible.saveTo(state);
+		for (Player p: players)
+			p.saveTo(state);
+		state.turn = turn;
+		state.turnCount = turnCount;
+		state.drawTile = drawTile == null ? -1 : drawTile.getId();
+		state.fromBack = fromBack;
+		state.winner = winner == null ? -1 : winner.getPlayerNum();
+	}
+	/**	Loads the whole game from a game state, into the wall, discards,
+	 * 	visible tiles, and players it already has. Agents, listener and
+	 * 	seed are kept. Only the sets of players are new objects.
+	 * 	@param	state to load
+	 */
+	public void loadFrom(GameState state) {
+		wall.loadFrom(state);
+		discardPile.loadFrom(state);
+		visible.loadFrom(state);
+		for (Player p: players)
+			p.loadFrom(state);
+		turn = state.turn;
+		turnCount = state.turnCount;
+		drawTile = state.drawTile < 0 ? null : Tile.fromId(state.drawTile);
+		fromBack = state.fromBack;
+		winner = state.winner < 0 ? null : players[state.winner];
+	}
+	
+	/**	Pauses the game so moves can be followed, unless headless
+	 * 	Parks instead of sleeping, so a game on a virtual thread frees its
+	 * 	carrier thread while it waits
+	 * 	@param	milliseconds to pause for
+	 */
+	private void pause(long millis) {
+		if (headless)
+			return;
+		//	Show everything printed so far before waiting
+		out.flush();
+		LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+	
 	/**	Prints the main menu of the game
 	 * 	Print MAHJONG game name
 	 * 	Include rules, and how to play on powershell version
@@ -247,65 +460,48 @@ public class Mahjong {
 	}
 	
 	/**	Setup method:
-	 * 	Copies all the tiles into the deck in a random order.
-	 * 	Then distributes tiles to the players in this fashion:
+	 * 	The deck was shuffled with the seed when the game was made.
+	 * 	Distributes tiles to the players in this fashion:
 	 * 	Each player draws 4 tiles going in a circle.
 	 * 	Repeat 2 more times until 12 tiles in hand.
 	 * 	Each player draws single tile.
 	 */
 	private void setup() {
+		//	Every player sees the same visible tile counts
+		for (Player p: players)
+			p.setVisibleTiles(visible);
 		//	Create space
-		System.out.println("\n\n\n\n\n\n\n");
-		//	Set up deck
-		//	Create instance of ALL_TILES as ArrayList
-		List<String> unshuffled = new ArrayList<>();
-		for (String tile: ALL_TILES) {
-			unshuffled.add(tile);
-		}
-		//	Shuffle and add unshuffled tiles to deck
-		while (!unshuffled.isEmpty()) {
-			//	Pick a random tile from unshiffled tiles
-			int randInd = (int)(Math.random() * unshuffled.size());
-			//	Add tile to deck, creating Tile object with key in unshuffled
-			String key = unshuffled.remove(randInd);
-			deck.add(new Tile(key));
-		}
+		if (!headless)
+			out.println("\n\n\n\n\n\n\n");
 		
 		//	Distribute tiles to players
 		//	Distribute in fours to twelve
 		for (int i = 0; i < 3; i++) {
 			//	Each player draws 4
 			for (Player player: players) {
-				player.draw(deck.pollFirst());
-				player.draw(deck.pollFirst());
-				player.draw(deck.pollFirst());
-				player.draw(deck.pollFirst());
-			}
-			try {
-				//	Sleep 1 second to simulate others drawing
-				Thread.sleep(1000);
+				player.draw(wall.draw());
+				player.draw(wall.draw());
+				player.draw(wall.draw());
+				player.draw(wall.draw());
 			}
-			catch (Exception e) {}
+			//	Sleep 1 second to simulate others drawing
+			pause(1000);
 			//	Print player's hand as they draw
-			players[0].printHand();
+			if (!headless)
+				players[0].printHand(out);
 		}
 		
-		try {
-			Thread.sleep(1000);
-		}
-		catch (Exception e) {}
+		pause(1000);
 		
 		//	Distribute 13th
 		for (Player player: players)
-			player.draw(deck.pollFirst());
+			player.draw(wall.draw());
 		
 		//	Print final hand after drawing last tile
-		players[0].printHand();
+		if (!headless)
+			players[0].printHand(out);
 		
-		try {
-			Thread.sleep(1000);
-		}
-		catch (Exception e) {}
+		pause(1000);
 	}
 	
 	/**	Run method:
@@ -317,340 +513,266 @@ public class Mahjong {
 		//turn = (int)(Math.random() * 4);
 		turn = 0;
 		
-		//	Remember if a player wins or if game ends in a draw
-		boolean isGameWon = false;
 		//	Keep track of winner to celebrate
-		Player winner = null;
-		
-		//	Keep track of drawn/discarded tile
-		Tile drawTile = deck.poll();
+		winner = null;
 		
+		turnCount = 0;
 		
+		//	Keep track of drawn/discarded tile
+		drawTile = wall.draw();
+		fromBack = false;
 		
+		playTurns();
+		end();
+	}
+	
+	/**	Plays a copy of a game on from the turn of the player it stopped
+	 * 	at, who has already drawn or claimed a tile and only discards
+	 * 	@return	winning player, null if the game is a draw
+	 */
+	public Player continueTurn() {
+		drawTile = null;
+		fromBack = false;
+		playTurns();
+		end();
+		return winner;
+	}
+	/**	Plays a copy of a game on from a discard just made by the player
+	 * 	whose turn it is, offering the discard to the claims from one claim
+	 * 	on. Claims with a higher priority are taken to have been passed.
+	 * 	@param	tile discarded, already seen by every player
+	 * 	@param	bit of the first claim to offer (see ClaimArbiter)
+	 * 	@return	winning player, null if the game is a draw
+	 */
+	public Player continueClaims(Tile discard, int from) {
+		offerClaims(discard, arbiter.getClaims(turn, discard) & -(1 << from));
+		playTurns();
+		end();
+		return winner;
+	}
+	
+	/**	Plays turns until a player wins or the wall runs out, starting
+	 * 	with the current player taking drawTile
+	 */
+	private void playTurns() {
 		//	Keep game running until player wins or tiles run out
 		//	Each loop starts with a discard and ends with a draw
-		while (!isGameWon && !deck.isEmpty()) {
+		while (winner == null && !wall.isEmpty()) {
 			//	Current player
 			Player thisPlayer = players[turn];
 			
 			
-			/*	Print information	*******************************/
-			
-			//	If player is not a bot, print their hand and all shown sets
-			if (!thisPlayer.isBot()) {
-				//	Create some spearation from previous turns
-				System.out.println("\n");
-				//	Print discards
-				System.out.println("Discards:");
-				printDiscard();
-				//	Print other players' shown sets
-				for (Player p: players) {
-					if (!p.equals(thisPlayer)) {
-						System.out.println("Player " + p.getPlayerNum() + 
-										"\'s shown tiles:");
-						p.printShown();
-					}
-				}
-				//	Print own shown set
-				System.out.println("\n\nYour shown tiles:");
-				thisPlayer.printShown();
-			}
-			
-			
-			//	Print drawn tile if it isn't null and this player isnt a bot
-			if (drawTile != null && !thisPlayer.isBot()) {
-				System.out.println("Drawn tile:");
-				drawTile.print();
-			}
-			
-			
 			/*	Take turn **********************************/
-			//	Check if with this 14th tile, the game is won by player
-			if (drawTile != null && !thisPlayer.isBot() && thisPlayer.hasWon(drawTile)) {
-				//	Ask if the player wants to win right now
-				thisPlayer.printHand();
-				int input = Prompt.getInt("Would you like to win? (0 - NO, 1 - YES)", -1, 1);
-				//	If yes, print winscreen and end the game
-				if (input == 1) {
-					thisPlayer.draw(drawTile);
-					isGameWon = true;
-					winner = thisPlayer;
-					break;
-				}
-				else if (input == -1) {
-					System.out.println("\nPROGRAM EXITED\n");
-					System.exit(0);
-				}
-			}
-			//	Check if with this 14th tile. the game is won by bot
-			if (drawTile != null && thisPlayer.isBot() && thisPlayer.hasWon(drawTile)) {
+			//	Check if with this 14th tile, the game is won, and ask if
+			//	the player wants to win right now
+			if (drawTile != null && thisPlayer.hasWon(drawTile)
+					&& decide(new Decision(this, Decision.TYPE.WIN, thisPlayer, drawTile)) == 1) {
 				//	Draw then win
 				thisPlayer.draw(drawTile);
-				isGameWon = true;
+				listener.onDraw(thisPlayer, drawTile, fromBack);
 				winner = thisPlayer;
 				break;
 			}
 			
-			//	Take player or bot turn, then update drawTile to discard
-			if (players[turn].isBot()) {
-				drawTile = takeBotTurn(players[turn], drawTile);
-				//	If null is returned, keep drawing from last and taking turns until not null
-				while(drawTile == null)
-					drawTile = takeBotTurn(players[turn], deck.pollLast());
-			}
-			else {
-				drawTile = takePlayerTurn(players[turn], drawTile);
-				//	If null is returned, keep drawing from last and taking turns until not null
-				while(drawTile == null)
-					drawTile = takePlayerTurn(players[turn], deck.pollLast());
-			}
+			//	Take turn, then update drawTile to discard
+			Tile discard = takeTurn(thisPlayer, drawTile, fromBack);
+			//	If null is returned, keep drawing from last and taking turns until not null
+			while(discard == null)
+				discard = takeTurn(thisPlayer, wall.drawReplacement(), true);
+			visible.discard(discard);
+			listener.onDiscard(thisPlayer, discard);
 			
 			
 			//	Print discarded tile
-			System.out.println("\nTile discarded:");
-			drawTile.print();
-			try {
-				//	Sleep 1 second
-				Thread.sleep(1000);
+			if (!headless) {
+				out.println("\nTile discarded:");
+				discard.print(out);
 			}
-			catch (Exception e) {}
-			
-			//	Check for KONG, then PENG, then CHI from other players
-			//	If a player decides to PENG, or CHI, drawTile becomes
-			//	null going into the next turn, prompting Player to discard
-			//	If a player decides to KONG, add the shown set, but also draw
-			//	If no action is made, a tile is drawn and turn is incremented
+			//	Sleep 1 second
+			pause(1000);
 			
 			//	Check if with this discarded tile, the game is won
-			if (drawTile != null && thisPlayer.hasWon(drawTile) && !thisPlayer.isBot()) {
-				//	Ask if the player wants to win right now
-				thisPlayer.printHand();
-				int input = Prompt.getInt("Would you like to win? (0 - NO, 1 - YES)", -1, 1);
-				//	If yes, print winscreen and end the game
-				if (input == 1) {
-					isGameWon = true;
-					winner = thisPlayer;
-					break;
-				}
-				else if (input == -1) {
-					System.out.println("\nPROGRAM EXITED\n");
-					System.exit(0);
-				}
-			}
-			else if (drawTile != null && thisPlayer.hasWon(drawTile) && thisPlayer.isBot()) {
-				isGameWon = true;
+			if (thisPlayer.hasWon(discard)
+					&& decide(new Decision(this, Decision.TYPE.WIN, thisPlayer, discard)) == 1) {
 				winner = thisPlayer;
 				break;
 			}
 			
-			//	KONG checks
-			for (Player p: players) {
-				//	If p is a bot and can KONG, do it
-				if (!p.equals(thisPlayer) && p.canKong(drawTile)) {
-					if (p.isBot()) {
-						p.kong(drawTile);
-						drawTile = null;
-						turn = p.getPlayerNum() - 1;
-						break;
-					}
-					//	Otherwise ask the player if they would like to if it wasn't their turn
-					else {
-						//	Print hand before asking
-						p.printHand();
-						System.out.println();
-						//	Get user input
-						int input = Prompt.getInt(
-							"Would you like to KONG discarded tile? (0 - NO, 1 - YES)", -1, 1);
-						if (input == 1) {
-							p.kong(drawTile);
-							drawTile = null;
-							turn = p.getPlayerNum() - 1;
-							break;
-						}
-						else if (input == -1) {
-							System.out.println("\nPROGRAM EXITED\n");
-							System.exit(0);
-						}
-					}
-				}
-			}
-			
-			//	PENG checks if drawTile isn't already null
-			if (drawTile != null)
-				for (Player p: players) {
-					//	Check if the player can PENG and if it isn't the one who discarded
-					if (!p.equals(thisPlayer) && p.canPeng(drawTile)) {
-						//	If player is bot, peng
-						if (p.isBot()) {
-							p.peng(drawTile);
-							drawTile = null;
-							turn = p.getPlayerNum() - 1;
-							break;
-						}
-						//	Otherwise ask the player if they would like to if it wasn't their turn
-						else {
-							//	Print hand before asking
-							p.printHand();
-							System.out.println();
-							//	Get user input
-							int input = Prompt.getInt(
-								"Would you like to PENG discarded tile? (0 - NO, 1 - YES)", -1, 1);
-							if (input == 1) {
-								p.peng(drawTile);
-								drawTile = null;
-								turn = p.getPlayerNum() - 1;
-								break;
-							}
-							else if (input == -1) {
-								System.out.println("\nPROGRAM EXITED\n");
-								System.exit(0);
-							}
-						}
-					}
-				}
-			
-			//	CHI checks if drawTile isn't already null
-			if (drawTile != null) {
-				Player pNext = players[(turn + 1) % 4];
-				if (pNext.canChi(drawTile)) {
-					//	If player is bot, chi
-					if (pNext.isBot()) {
-						pNext.chi(drawTile);
-						drawTile = null;
-						turn = pNext.getPlayerNum() - 1;
-					}
-					//	Otherwise ask the player if they would like to if it wasn't their turn
-					else {
-						//	Print hand before asking
-						pNext.printHand();
-						System.out.println();
-						//	Get user input
-						int input = Prompt.getInt(
-							"Would you like to CHI discarded tile? (0 - NO, 1 - YES)", -1, 1);
-						if (input == 1) {
-							pNext.chi(drawTile);
-							drawTile = null;
-							turn = pNext.getPlayerNum() - 1;
-						}
-						else if (input == -1) {
-							System.out.println("\nPROGRAM EXITED\n");
-							System.exit(0);
-						}
-					}
-				}
+			offerClaims(discard, arbiter.getClaims(turn, discard));
+		}
+	}
+	
+	/**	Offers a discard to claims in order of priority, then moves on to
+	 * 	the next turn.
+	 * 	If a player decides to PENG, or CHI, drawTile becomes null going
+	 * 	into the next turn, prompting Player to discard
+	 * 	If a player decides to KONG, add the shown set, but also draw
+	 * 	If no action is made, a tile is drawn and turn is incremented
+	 * 	@param	tile discarded by the player whose turn it is
+	 * 	@param	packed claims to offer (see ClaimArbiter)
+	 */
+	private void offerClaims(Tile discard, int claims) {
+		drawTile = discard;
+		fromBack = false;
+		//	Go through the claims on the discard in order of priority,
+		//	bots always claim, players are asked and may pass
+		while (claims != 0) {
+			int claim = ClaimArbiter.first(claims);
+			claims = ClaimArbiter.removeFirst(claims);
+			Player p = players[ClaimArbiter.seatOf(claim)];
+			TileSet.SET_TYPE type = ClaimArbiter.typeOf(claim);
+			//	Ask the player's agent if they would like to claim the tile
+			if (decide(new Decision(this, Decision.TYPE.CLAIM, p, drawTile, type, null)) != 1)
+				continue;
+			//	Make the set, then the claiming player takes the next turn
+			if (type == TileSet.SET_TYPE.KONG) {
+				p.kong(drawTile);
+				visible.show(p.getLastShown(), drawTile);
+				listener.onClaim(p, type, drawTile);
+				//	KONG draws a replacement tile from the back
+				drawTile = wall.drawReplacement();
+				fromBack = true;
 			}
-			
-			//	If drawTile still isn't null, add it to discard, and update
-			//	it with a new Tile from the deck
-			if (drawTile != null) {
-				discardPile.push(drawTile);
-				drawTile = deck.poll();
+			else {
+				//	PENG or CHI, drawTile becomes null going into the next
+				//	turn, prompting the player to discard
+				if (type == TileSet.SET_TYPE.PENG)
+					p.peng(drawTile);
+				else
+					p.chi(drawTile, chooseChi(p, drawTile));
+				visible.show(p.getLastShown(), drawTile);
+				listener.onClaim(p, type, drawTile);
+				drawTile = null;
 			}
-			
-			//	Increment turn
-			turn ++;
-			turn %= 4;
-			
-			//	End of turn --
-			//	Player should have taken a tile by PENG, KONG, CHI, or drawing by now
-			System.out.println("\n");
+			turn = p.getPlayerNum() - 1;
+			break;
+		}
+		
+		//	If drawTile is still the discard, add it to discard, and update
+		//	it with a new Tile from the deck. After a KONG it is the
+		//	replacement tile, which the claiming player keeps
+		if (drawTile != null && !fromBack) {
+			discardPile.add(drawTile);
+			drawTile = wall.draw();
 		}
 		
+		//	Increment turn
+		turn ++;
+		turn %= 4;
+		turnCount++;
+		
+		//	End of turn --
+		//	Player should have taken a tile by PENG, KONG, CHI, or drawing by now
+		if (!headless)
+			out.println("\n");
+	}
+	
+	/**	Tells the listener the game is over, then prints the end of the
+	 * 	game unless headless
+	 */
+	private void end() {
+		listener.onGameEnd(winner);
+		if (headless)
+			return;
 		
 		//	Draw message if no winner
 		if (winner == null)
-			System.out.println("DRAW: Out of tiles");
+			out.println("DRAW: Out of tiles");
 		else {
 			/*	Print all hands, shown, and discard		*/
 			//	Start with discard
-			System.out.println("\nDiscard:");
-			printDiscard();
+			TileRenderer frame = new TileRenderer().line("\nDiscard:");
+			renderDiscard(frame);
 			//	Print each players shown then hands
 			for (Player p: players) {
-				System.out.println("Player " + p.getPlayerNum() + "'s shown");
-				p.printShown();
-				System.out.println("Player " + p.getPlayerNum() + "'s hand");
-				p.printHand();
+				frame.line("Player " + p.getPlayerNum() + "'s shown").sets(p.getShown());
+				frame.line("Player " + p.getPlayerNum() + "'s hand").tiles(p.getHandList());
 			}
 			//	Print out winner
-			System.out.println("WINNER: Player " + winner.getPlayerNum() + "!");
+			frame.line("WINNER: Player " + winner.getPlayerNum() + "!").flush(out);
 		}
 	}
 	
 	/**	Prints the discard pile*/
-	private void printDiscard() {
-		//	Copy discard
-		Deque<Tile> temp = new ArrayDeque<>(discardPile);
-		//	Go through all elements
-		while(!temp.isEmpty()) {
-			//	Create rows of 10
-			List<Tile> row = new ArrayList<>(10);
-			int i = 0;
-			while (!temp.isEmpty() && i < 10) {
-				row.add(temp.pop());
-				i++;
-			}
-			Tile.printTileList(row);
-			System.out.println("");
-		}
+	public void printDiscard() {
+		printDiscard(out);
+	}
+	/**	Prints the discard pile to a stream
+	 * 	@param	stream to print to
+	 */
+	public void printDiscard(PrintStream out) {
+		TileRenderer frame = new TileRenderer();
+		renderDiscard(frame);
+		frame.flush(out);
+	}
+	/**	Adds the discard pile to a frame, in rows of 10
+	 * 	@param	frame to add to
+	 */
+	public void renderDiscard(TileRenderer frame) {
+		discardPile.render(frame);
 	}
 	
 	/**	Player takes a turn
 	 * 	@param	Player to take turn
 	 * 	@param	Tile taken, if null, only discard
+	 * 	@param	whether the tile was drawn from the back
 	 * 	@return	Tile discarded
 	 */
-	private Tile takePlayerTurn(Player p, Tile t) {
+	private Tile takeTurn(Player p, Tile t, boolean fromBack) {
 		//	If tile is null, a PENG KONG or CHI happened, and only discard
 		if (t != null) {
 			//	If player can kong, ask if they want to
-			if (p.canKongShown(t)) {
-				int input = Prompt.getInt(
-					"Do you want to KONG drawn tile? (0 - NO, 1- YES", -1, 1);
-				//	If player KONG
-				if (input == 1) {
-					p.kong(t);
-					return takePlayerTurn(p, deck.poll());
+			if ((p.canKong(t) || p.canKongShown(t)) && decide(new Decision(this,
+					Decision.TYPE.CLAIM, p, t, TileSet.SET_TYPE.KONG, null)) == 1) {
+				//	KONG with a shown PENG, or with tiles in hand
+				if (p.canKongShown(t)) {
+					p.kongShown(t);
+					visible.show(t);
 				}
-				else if (input == -1) {
-					System.out.println("\nPROGRAM EXITED\n");
-					System.exit(0);
+				else {
+					p.kong(t);
+					visible.show(p.getLastShown(), null);
 				}
+				listener.onClaim(p, TileSet.SET_TYPE.KONG, t);
+				return takeTurn(p, wall.drawReplacement(), true);
 			}
 			//	Add the tile to hand
 			p.draw(t);
+			listener.onDraw(p, t, fromBack);
 		}
 		
 		//	Discard tile
-		return p.discard();
+		int id = decide(new Decision(this, Decision.TYPE.DISCARD, p, t));
+		return p.discard(Tile.fromId(id));
 	}
 	
-	/**	Bot takes a turn
-	 * 	TEMPORARILY DISCARDS DRAWN TILE OR RANDOMY DISCARDS IF NULL
-	 *	@param	Bot to take turn
-	 * 	@param	Tile taken, if null, only discard
-	 * 	@return til discarded
+	/**	Chooses which sequence a player makes with a CHI, only asking
+	 * 	their agent if there is more than one
+	 * 	@param	player making the CHI
+	 * 	@param	tile taken
+	 * 	@return	index of sequence in Player.getChiOptions
 	 */
-	private Tile takeBotTurn(Player p, Tile t) {
-		//	If tile is null, a PENG KONG or CHI happened, and only discard
-		if (t != null) {
-			//	If bot can kong, then kong
-			if (p.canKong(t)) {
-				p.kong(t);
-				return takePlayerTurn(p, deck.poll());
-			}
-			//	Add the tile to hand
-			p.draw(t);
-		}
-		
-		//	Discard tile
-		return p.discard();
+	private int chooseChi(Player p, Tile t) {
+		List<TileSet> options = p.getChiOptions(t);
+		if (options.size() <= 1)
+			return 0;
+		return decide(new Decision(this, Decision.TYPE.CHI_OPTION, p, t, TileSet.SET_TYPE.CHI, options));
+	}
+	
+	/**	Asks the agent of a player for a decision
+	 * 	@param	decision to make
+	 * 	@return	answer to the decision
+	 */
+	private int decide(Decision d) {
+		Agent agent = agents[d.getPlayer().getPlayerNum()];
+		agent.decide(d);
+		return d.getAnswer();
 	}
 	
 	/**	Prints the winscreen for the winning player	
 	 * 	@param	Player who won
 	 */
 	private void printWinScreen(Player winner) {
-		System.out.println("\nPlayer " + winner.getPlayerNum() + " wins!");
+		out.println("\nPlayer " + winner.getPlayerNum() + " wins!");
 	}
 }	
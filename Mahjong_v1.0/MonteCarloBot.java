@@ -0,0 +1,361 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**	MonteCarloBot class extends Bot to choose discards and claims by
+ * 	playing the rest of the game out many times, called rollouts.
+ * 	Each rollout deals the tiles the bot hasn't seen at random: the other
+ * 	players' hands get as many tiles as they hold, and the wall gets the
+ * 	rest, so every deal fits what the bot can see (see Determinizer). The
+ * 	game is copied with that deal (see Mahjong), the bot's choice is made
+ * 	in the copy, and every player then plays it out as a Bot would. The
+ * 	choices are compared by how often the bot wins the rollouts.
+ * 	Every choice is tried on the same deals, so the differences between
+ * 	them are not hidden by how lucky each deal is. The choice a Bot would
+ * 	make is kept unless another beats it on those deals by more than 2
+ * 	standard errors, so a short search plays like a Bot instead of
+ * 	following noise. Only discards leaving the lowest shanten are tried,
+ * 	the best few by ukeire (see DiscardEngine).
+ * 	Rollouts run on a ForkJoinPool, one task per thread of the pool,
+ * 	until the time for the decision runs out. Rollouts still being played
+ * 	then are stopped and left out. Wins and draw-tile KONGs are always
+ * 	made, as a Bot makes them.
+ * 	The bot answers its own decisions, so it is seated with itself as
+ * 	its agent. Without a game to copy it plays as a Bot.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class MonteCarloBot extends Bot implements Agent {
+	//	Time to search each decision by default, in milliseconds
+	public static final long DEFAULT_MILLIS = 100;
+	//	Most discards tried with rollouts
+	private static final int MAX_CANDIDATES = 5;
+	//	Score of a rollout the bot wins, and of one another player wins,
+	//	in thirds so the scores of all 4 seats add up to 0 (a draw is 0)
+	private static final int WIN_SCORE = 3;
+	private static final int LOSS_SCORE = -1;
+	//	Standard errors a choice has to beat the Bot's choice by to be made
+	private static final double MIN_Z = 2;
+	//	Agent playing every seat in rollouts, it keeps nothing so it is
+	//	shared
+	private static final Agent BOTS = new BotAgent();
+
+	/*	Field variables	*/
+	//	Pool the rollouts run on
+	private ForkJoinPool pool;
+	//	Time to search each decision, in nanoseconds
+	private long nanos;
+	//	Random numbers split off for each rollout task
+	private SplittableRandom searchRandom;
+	//	Sequence chosen for the CHI just claimed, asked for right after
+	private int chiOption;
+	//	Number of decisions searched and rollouts played in them
+	private long searches;
+	private long rollouts;
+
+	/*	Constructors	*/
+	/**	Bot searching on the common ForkJoinPool
+	 * 	@param	player number
+	 * 	@param	random numbers for breaking ties and dealing rollouts
+	 * 	@param	time to search each decision, in milliseconds
+	 */
+	public MonteCarloBot(int playerNum, SplittableRandom random, long millis) {
+		this(playerNum, random, millis, ForkJoinPool.commonPool());
+	}
+	/**	@param	player number
+	 * 	@param	random numbers for breaking ties and dealing rollouts
+	 * 	@param	time to search each decision, in milliseconds
+	 * 	@param	pool to run rollouts on
+	 */
+	public MonteCarloBot(int playerNum, SplittableRandom random, long millis, ForkJoinPool pool) {
+		super(playerNum, random);
+		searchRandom = random.split();
+		nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+		this.pool = pool;
+	}
+
+	/**	Answers one of this bot's decisions, searching discards and
+	 * 	claims on other players' discards
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		Mahjong game = d.getGame();
+		switch (d.getType()) {
+			case WIN:
+				d.setAnswer(1);
+				break;
+			case CLAIM:
+				//	A KONG with a drawn tile is always made
+				if (game == null || game.getTurn() == getPlayerNum())
+					d.setAnswer(1);
+				else
+					d.setAnswer(chooseClaim(game, d.getTile(), d.getClaimType()));
+				break;
+			case CHI_OPTION:
+				d.setAnswer(chiOption < d.getChiOptions().size() ? chiOption : 0);
+				break;
+			case DISCARD:
+				d.setAnswer(game == null ? chooseDiscard().getId() : searchDiscard(game));
+				break;
+		}
+	}
+
+	/**	Chooses a discard by rollouts, out of the discards leaving the
+	 * 	lowest shanten
+	 * 	@param	game being played
+	 * 	@return	id of tile to discard
+	 */
+	private int searchDiscard(Mahjong game) {
+		//	The Bot's choice is tried first, so it is kept on a tie
+		Tile first = chooseDiscard();
+		int[] ids = new int[MAX_CANDIDATES];
+		int n = getDiscardEngine().getCandidates(this, ids);
+		//	Move it to the front, in place of the last if it tied for a
+		//	place past the end
+		int i = 0;
+		while (i < n - 1 && ids[i] != first.getId())
+			i++;
+		for (; i > 0; i--)
+			ids[i] = ids[i - 1];
+		ids[0] = first.getId();
+		if (n == 1)
+			return ids[0];
+		Choice[] choices = new Choice[n];
+		for (int c = 0; c < n; c++)
+			choices[c] = new Choice(new Decision.TYPE[] {Decision.TYPE.DISCARD}, new int[] {ids[c]});
+		return ids[search(game, choices, null, -1)];
+	}
+
+	/**	Chooses whether to claim another player's discard by rollouts,
+	 * 	and which sequence to make if it is a CHI
+	 * 	@param	game being played
+	 * 	@param	tile discarded
+	 * 	@param	type of set the claim makes
+	 * 	@return	1 to claim, 0 to pass
+	 */
+	private int chooseClaim(Mahjong game, Tile discard, TileSet.SET_TYPE type) {
+		//	Claiming is tried first, as a Bot always claims
+		List<Choice> choices = new ArrayList<>();
+		int options = type == TileSet.SET_TYPE.CHI ? getChiOptions(discard).size() : 1;
+		if (options > 1) {
+			for (int k = 0; k < options; k++)
+				choices.add(new Choice(new Decision.TYPE[] {Decision.TYPE.CLAIM, Decision.TYPE.CHI_OPTION},
+						new int[] {1, k}));
+		}
+		else
+			choices.add(new Choice(new Decision.TYPE[] {Decision.TYPE.CLAIM}, new int[] {1}));
+		choices.add(new Choice(new Decision.TYPE[] {Decision.TYPE.CLAIM}, new int[] {0}));
+		Choice best = choices.get(search(game, choices.toArray(new Choice[0]), discard,
+				ClaimArbiter.bitOf(getPlayerNum(), type)));
+		chiOption = best.answers.length > 1 ? best.answers[1] : 0;
+		return best.answers[0];
+	}
+
+	/**	Plays rollouts of each choice on the pool until the time for the
+	 * 	decision runs out
+	 * 	@param	game being played, not changed
+	 * 	@param	choices to compare
+	 * 	@param	discard being claimed, null for a discard decision
+	 * 	@param	bit of the claim being made (see ClaimArbiter)
+	 * 	@return	index of the choice gaining the most on choice 0, 0 if none
+	 * 			gains enough
+	 */
+	private int search(Mahjong game, Choice[] choices, Tile discard, int claimBit) {
+		Search search = new Search(new Determinizer(game, this), choices, discard, claimBit,
+				System.nanoTime() + nanos);
+		List<Rollouts> tasks = new ArrayList<>();
+		for (int i = 0; i < pool.getParallelism(); i++) {
+			Rollouts task = new Rollouts(getPlayerNum(), search, searchRandom.split());
+			tasks.add(task);
+			pool.execute(task);
+		}
+		//	Tasks stop at the deadline, so joining waits at most one decision
+		//	of a rollout past it
+		long[] gains = new long[choices.length];
+		long[] squares = new long[choices.length];
+		long deals = 0;
+		for (Rollouts task: tasks) {
+			task.join();
+			for (int c = 0; c < choices.length; c++) {
+				gains[c] += task.gains[c];
+				squares[c] += task.squares[c];
+			}
+			deals += task.deals;
+			rollouts += task.rollouts;
+		}
+		//	Choice 0 is the Bot's, another is only made if it gains on it by
+		//	enough over the deals to not be luck
+		int best = 0;
+		double bestGain = 0;
+		for (int c = 1; c < choices.length && deals > 1; c++) {
+			double mean = (double)gains[c] / deals;
+			double variance = Math.max(0, ((double)squares[c] - mean * gains[c]) / (deals - 1));
+			if (mean > bestGain && mean > MIN_Z * Math.sqrt(variance / deals)) {
+				bestGain = mean;
+				best = c;
+			}
+		}
+		searches++;
+		return best;
+	}
+
+	/**	@return	number of decisions searched with rollouts	*/
+	public long getSearches() {
+		return searches;
+	}
+	/**	@return	number of rollouts played over all searches	*/
+	public long getRollouts() {
+		return rollouts;
+	}
+
+	/**	One answer compared by a search, with the answers the bot makes
+	 * 	right after it, such as the sequence of a CHI
+	 */
+	private static class Choice {
+		//	Type of each decision answered, in order
+		final Decision.TYPE[] types;
+		//	Answer to each decision
+		final int[] answers;
+
+		Choice(Decision.TYPE[] types, int[] answers) {
+			this.types = types;
+			this.answers = answers;
+		}
+	}
+
+	/**	What a search compares, read by every rollout task	*/
+	private static class Search {
+		//	Copies of the game being played, dealt as the bot sees it
+		final Determinizer deals;
+		//	Choices to compare
+		final Choice[] choices;
+		//	Discard being claimed, null for a discard decision
+		final Tile discard;
+		//	Bit of the claim being made
+		final int claimBit;
+		//	Time the search stops, from System.nanoTime()
+		final long deadline;
+
+		Search(Determinizer deals, Choice[] choices, Tile discard, int claimBit, long deadline) {
+			this.deals = deals;
+			this.choices = choices;
+			this.discard = discard;
+			this.claimBit = claimBit;
+			this.deadline = deadline;
+		}
+	}
+
+	/**	Task playing rollouts of every choice, each choice on the same
+	 * 	deals, until the search's deadline
+	 */
+	private static class Rollouts extends RecursiveAction {
+		//	Version of the serialized form, tasks are never serialized
+		private static final long serialVersionUID = 1L;
+		//	Seat of the searching bot
+		private final int seat;
+		//	Search the rollouts are for
+		private final transient Search search;
+		//	Random numbers for dealing
+		private final transient SplittableRandom random;
+		//	Total gain in score of each choice over choice 0, and of the
+		//	gains squared, over deals every choice was played on
+		final long[] gains;
+		final long[] squares;
+		//	Score of each choice on the deal being played
+		private final int[] scores;
+		//	Number of deals every choice was played on, and of rollouts
+		int deals;
+		int rollouts;
+
+		Rollouts(int seat, Search search, SplittableRandom random) {
+			this.seat = seat;
+			this.search = search;
+			this.random = random;
+			gains = new long[search.choices.length];
+			squares = new long[search.choices.length];
+			scores = new int[search.choices.length];
+		}
+
+		protected void compute() {
+			RolloutAgent agent = new RolloutAgent(seat, search.deadline);
+			Determinizer.Table table = search.deals.newTable(agent);
+			try {
+				while (System.nanoTime() < search.deadline) {
+					long dealSeed = random.nextLong();
+					for (int c = 0; c < search.choices.length; c++) {
+						Mahjong copy = table.deal(new SplittableRandom(dealSeed));
+						agent.force(search.choices[c]);
+						Player winner = search.discard == null ? copy.continueTurn()
+								: copy.continueClaims(search.discard, search.claimBit);
+						scores[c] = winner == null ? 0 : winner.getPlayerNum() == seat
+								? WIN_SCORE : LOSS_SCORE;
+						rollouts++;
+					}
+					for (int c = 1; c < scores.length; c++) {
+						gains[c] += scores[c] - scores[0];
+						squares[c] += (scores[c] - scores[0]) * (scores[c] - scores[0]);
+					}
+					deals++;
+				}
+			}
+			catch (Stopped e) {
+				//	The rollout being played is left out
+			}
+		}
+	}
+
+	/**	Agent playing every seat of a rollout as a Bot, after making the
+	 * 	choice being tried for the searching bot. It stops the rollout once
+	 * 	the search's time is up.
+	 */
+	private static class RolloutAgent implements Agent {
+		//	Seat of the searching bot
+		private final int seat;
+		//	Time the search stops
+		private final long deadline;
+		//	Choice being tried, null once it has been made
+		private Choice forced;
+		//	Index of the next answer of the choice
+		private int next;
+
+		RolloutAgent(int seat, long deadline) {
+			this.seat = seat;
+			this.deadline = deadline;
+		}
+
+		/**	Starts a rollout trying a choice
+		 * 	@param	choice to make first
+		 */
+		void force(Choice choice) {
+			forced = choice;
+			next = 0;
+		}
+
+		public void decide(Decision d) {
+			if (System.nanoTime() >= deadline)
+				throw Stopped.STOPPED;
+			if (forced != null && d.getPlayer().getPlayerNum() == seat) {
+				if (next < forced.types.length && d.getType() == forced.types[next]) {
+					d.setAnswer(forced.answers[next++]);
+					return;
+				}
+				forced = null;
+			}
+			BOTS.decide(d);
+		}
+	}
+
+	/**	Thrown through a rollout to stop it when the search's time is up.
+	 * 	It has no stack trace, so stopping costs almost nothing.
+	 */
+	private static class Stopped extends RuntimeException {
+		//	Version of the serialized form
+		private static final long serialVersionUID = 1L;
+		//	The only instance
+		static final Stopped STOPPED = new Stopped();
+
+		private Stopped() {
+			super("Rollout stopped", null, false, false);
+		}
+	}
+}
@@ -0,0 +1,402 @@
+import java.io.*;
+import java.lang.management.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**	NioServer class to let programs play Mahjong over local connections.
+ * 	A few event loop threads, each with its own Selector, read and write
+ * 	every connection without blocking, so thousands of connections need
+ * 	only a handful of threads. Each connection plays at its own table,
+ * 	at seat 0 against 3 bots, and the table runs on a virtual thread that
+ * 	waits for answers from the event loop (see RemoteAgent).
+ *
+ * 	The protocol is one line per message, with tiles written as their ids
+ * 	(0-33) and the tiles of a set joined by dots.
+ * 	Server to client:
+ * 	SEAT n			- the seat played by the client
+ * 	DRAW tile			- the client drew a tile
+ * 	DISCARDED seat tile	- a player discarded a tile
+ * 	CLAIMED seat type tile	- a player claimed a tile for a set
+ * 	STATE hand shown		- the client's hand (ids joined by commas) and
+ * 					  shown sets (sets joined by commas), - if empty
+ * 	END seat			- the game is over, won by the seat or -1 for a
+ * 					  draw, and the server closes the connection
+ * 	ERR message			- the last line sent was refused
+ * 	Questions, answered by the client with one number on a line:
+ * 	WIN? tile			- 1 to win with the tile, 0 not to
+ * 	KONG? tile, PENG? tile, CHI? tile
+ * 					- 1 to claim the tile for the set, 0 not to
+ * 	CHIOPT? set set ...	- index of the CHI set to make
+ * 	DISCARD? tile		- id of the tile to discard, after drawing the
+ * 					  tile (- if the turn began with a claim)
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class NioServer {
+	//	Default port to listen on
+	public static final int DEFAULT_PORT = 7778;
+	//	Longest line accepted from a client
+	private static final int MAX_LINE = 256;
+
+	/*	Field variables	*/
+	//	Port to listen on
+	private int port;
+	//	Event loops reading and writing connections
+	private EventLoop[] loops;
+	//	Next loop to hand a connection to
+	private int nextLoop;
+	//	Number of connections open and games finished
+	private AtomicLong connections;
+	private AtomicLong finished;
+	//	Error an event loop's selector failed with, which stops the server,
+	//	null while it runs
+	private volatile IOException failure;
+
+	/*	Constructors	*/
+	/**	@param	port to listen on
+	 * 	@param	number of event loop threads
+	 */
+	public NioServer(int port, int threads) throws IOException {
+		this.port = port;
+		connections = new AtomicLong();
+		finished = new AtomicLong();
+		loops = new EventLoop[Math.max(1, threads)];
+		for (int i = 0; i < loops.length; i++)
+			loops[i] = new EventLoop("nio-loop-" + i);
+	}
+
+	//	Main method
+	//	Arguments: [port] [event loop threads]
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+		NioServer server = new NioServer(port, threads);
+		server.start();
+		System.out.println("Mahjong NIO server listening on port " + port + " with " + threads + " event loops");
+		while (true) {
+			try {
+				Thread.sleep(5000);
+			}
+			catch (InterruptedException e) {
+				break;
+			}
+			//	The server stopped, so end with its error
+			if (server.failure != null)
+				throw server.failure;
+			server.printStatus();
+		}
+	}
+
+	/**	Opens the listening socket on the local address and starts the
+	 * 	event loops. Connections are accepted on the first loop.
+	 */
+	public void start() throws IOException {
+		ServerSocketChannel server = ServerSocketChannel.open();
+		server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+		server.configureBlocking(false);
+		loops[0].execute(() -> loops[0].register(server, SelectionKey.OP_ACCEPT, null));
+		for (EventLoop loop: loops)
+			loop.thread.start();
+	}
+
+	/**	Accepts every connection waiting, handing each to the next loop
+	 * 	@param	listening socket
+	 */
+	private void accept(ServerSocketChannel server) throws IOException {
+		SocketChannel channel;
+		while ((channel = server.accept()) != null) {
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			EventLoop loop = loops[nextLoop];
+			nextLoop = (nextLoop + 1) % loops.length;
+			Connection c = new Connection(channel, loop);
+			connections.incrementAndGet();
+			loop.execute(() -> {
+				c.key = loop.register(c.channel, SelectionKey.OP_READ, c);
+				startTable(c);
+			});
+		}
+	}
+
+	/**	Starts the game of a connection on a virtual thread
+	 * 	@param	connection playing seat 0
+	 */
+	private void startTable(Connection c) {
+		long seed = new SplittableRandom().nextLong();
+		Thread.ofVirtual().start(() -> {
+			try {
+				Agent bots = new BotAgent();
+				Agent[] agents = {c.agent, bots, bots, bots};
+				Mahjong game = new Mahjong(GameServer.makePlayers(seed, false), agents, seed,
+						new PrintStream(OutputStream.nullOutputStream()));
+				//	The client paces the game, so the table doesn't pause
+				game.setHeadless(true);
+				game.setListener(c.agent);
+				c.send("SEAT 0");
+				game.play();
+				finished.incrementAndGet();
+			}
+			//	The connection closed during the game
+			catch (IllegalStateException e) {}
+			finally {
+				c.closeWhenWritten();
+			}
+		});
+	}
+
+	/**	Prints the number of connections and threads	*/
+	public void printStatus() {
+		System.out.printf("Connections open: %d, games finished: %d, platform threads: %d%n",
+				connections.get(), finished.get(), ManagementFactory.getThreadMXBean().getThreadCount());
+	}
+
+	/**	Thread with a Selector running the IO of its connections. Other
+	 * 	threads give it work with execute, which wakes the selector.
+	 */
+	private class EventLoop implements Runnable {
+		//	Selector for this loop's channels
+		private Selector selector;
+		//	Work to run on this loop's thread
+		private Queue<Runnable> tasks;
+		//	Thread running the loop
+		private Thread thread;
+
+		/**	@param	name of the thread	*/
+		EventLoop(String name) throws IOException {
+			selector = Selector.open();
+			tasks = new ConcurrentLinkedQueue<>();
+			thread = new Thread(this, name);
+			thread.setDaemon(true);
+		}
+
+		/**	Runs work on this loop's thread
+		 * 	@param	work to run
+		 */
+		void execute(Runnable task) {
+			tasks.add(task);
+			selector.wakeup();
+		}
+
+		/**	Registers a channel with this loop's selector
+		 * 	@param	channel to register
+		 * 	@param	operations to select
+		 * 	@param	connection of the channel, or null
+		 * 	@return	key of the channel
+		 */
+		SelectionKey register(SelectableChannel channel, int ops, Connection c) {
+			try {
+				return channel.register(selector, ops, c);
+			}
+			catch (ClosedChannelException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		public void run() {
+			while (failure == null) {
+				try {
+					selector.select();
+				}
+				catch (IOException e) {
+					stop(e);
+					break;
+				}
+				Runnable task;
+				while ((task = tasks.poll()) != null)
+					task.run();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handle(key);
+				}
+			}
+			closeAll();
+		}
+
+		/**	Stops the whole server after this loop's selector failed. A
+		 * 	loop can't be replaced, and connections handed to it would wait
+		 * 	forever, so every loop closes its channels and exits.
+		 * 	@param	error the selector failed with
+		 */
+		private void stop(IOException e) {
+			failure = e;
+			for (EventLoop loop: loops)
+				loop.selector.wakeup();
+		}
+
+		/**	Closes every channel of the loop once the server has stopped.
+		 * 	Nothing would read them again, so each connection is closed to
+		 * 	stop the game waiting on its client.
+		 */
+		private void closeAll() {
+			for (SelectionKey key: selector.keys()) {
+				Connection c = (Connection)key.attachment();
+				if (c != null)
+					c.close();
+				else {
+					try {
+						key.channel().close();
+					}
+					catch (IOException e) {}
+				}
+			}
+		}
+
+		/**	Handles a channel ready to accept, read, or write
+		 * 	@param	key of the channel
+		 */
+		private void handle(SelectionKey key) {
+			Connection c = (Connection)key.attachment();
+			try {
+				if (!key.isValid())
+					return;
+				if (key.isAcceptable())
+					accept((ServerSocketChannel)key.channel());
+				else {
+					if (key.isReadable())
+						c.read();
+					if (key.isValid() && key.isWritable())
+						c.write();
+				}
+			}
+			catch (IOException e) {
+				if (c != null)
+					c.close();
+			}
+		}
+	}
+
+	/**	One client connection. Reading and writing happen on the loop's
+	 * 	thread; send can be called from any thread.
+	 */
+	private class Connection {
+		//	Channel to the client
+		private SocketChannel channel;
+		//	Loop running the channel, and its key
+		private EventLoop loop;
+		private SelectionKey key;
+		//	Bytes read and not yet handled
+		private ByteBuffer readBuffer;
+		//	Line being read
+		private StringBuilder line;
+		//	Lines waiting to be written
+		private Queue<ByteBuffer> writes;
+		//	Whether a write has been asked of the loop and not yet run
+		private AtomicBoolean writeScheduled;
+		//	Whether to close once every line has been written
+		private volatile boolean closing;
+		//	Whether the connection has closed
+		private boolean closed;
+		//	Agent of the client's seat
+		private RemoteAgent agent;
+
+		/**	@param	channel to the client
+		 * 	@param	loop running the channel
+		 */
+		Connection(SocketChannel channel, EventLoop loop) {
+			this.channel = channel;
+			this.loop = loop;
+			readBuffer = ByteBuffer.allocate(1024);
+			line = new StringBuilder();
+			writes = new ConcurrentLinkedQueue<>();
+			writeScheduled = new AtomicBoolean();
+			agent = new RemoteAgent(0, this::send);
+		}
+
+		/**	Queues a line to send, and has the loop write it
+		 * 	@param	line without the line break
+		 */
+		void send(String text) {
+			writes.add(ByteBuffer.wrap((text + "\n").getBytes(StandardCharsets.US_ASCII)));
+			scheduleWrite();
+		}
+
+		/**	Closes the connection after the lines queued are written	*/
+		void closeWhenWritten() {
+			closing = true;
+			scheduleWrite();
+		}
+
+		/**	Asks the loop to write, unless it has been asked already	*/
+		private void scheduleWrite() {
+			if (writeScheduled.compareAndSet(false, true))
+				loop.execute(() -> {
+					writeScheduled.set(false);
+					try {
+						write();
+					}
+					catch (IOException e) {
+						close();
+					}
+				});
+		}
+
+		/**	Reads what the client has sent, handing each full line to the
+		 * 	agent
+		 */
+		void read() throws IOException {
+			int n = channel.read(readBuffer);
+			if (n < 0) {
+				close();
+				return;
+			}
+			readBuffer.flip();
+			while (readBuffer.hasRemaining()) {
+				char ch = (char)readBuffer.get();
+				if (ch == '\n') {
+					agent.onLine(line.toString());
+					line.setLength(0);
+				}
+				else if (ch != '\r') {
+					if (line.length() >= MAX_LINE)
+						throw new IOException("Line too long");
+					line.append(ch);
+				}
+			}
+			readBuffer.clear();
+		}
+
+		/**	Writes as many queued lines as the socket takes, selecting for
+		 * 	writing while any are left
+		 */
+		void write() throws IOException {
+			if (closed)
+				return;
+			ByteBuffer buffer;
+			while ((buffer = writes.peek()) != null) {
+				channel.write(buffer);
+				if (buffer.hasRemaining())
+					break;
+				writes.poll();
+			}
+			if (!writes.isEmpty())
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			else if (closing)
+				close();
+			else
+				key.interestOps(SelectionKey.OP_READ);
+		}
+
+		/**	Closes the channel and stops the game waiting on it	*/
+		void close() {
+			if (closed)
+				return;
+			closed = true;
+			connections.decrementAndGet();
+			if (key != null)
+				key.cancel();
+			try {
+				channel.close();
+			}
+			catch (IOException e) {}
+			agent.close();
+		}
+	}
+}
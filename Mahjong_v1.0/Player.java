@@ -1,4 +1,7 @@
+import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**	Player class in Mahjong game. Player class keeps track of one of 4
  * 	players in the game. Each player has a player number, a hand of hidden
@@ -9,14 +12,51 @@ import java.util.*;
  */
 public class Player {
 	//	Field variables
+	//	Count of each tile in hand, indexed by tile id (see Tile.getId())
 	//	NEVER PASS hand IN AS PARAMETER, ALWAYS USE getHand() to make copy
-	private Queue<Tile> hand;
+	private int[] hand;
+	//	Number of tiles in hand
+	private int handSize;
+	//	Win state of each suit, kept up to date as tiles enter and leave
+	//	the hand so checking for a win never has to look at the whole hand
+	//	Base 5 key of the counts of each suit (see HandSuit.getKey())
+	private int[] suitKeys;
+	//	Number of tiles of each suit
+	private int[] suitCounts;
+	//	Whether each suit is only sets, or sets and one pair if its count
+	//	has room for a pair
+	private boolean[] suitWinning;
+	//	Number of suits that are winning
+	private int winningSuits;
+	//	Number of suits with room for a pair (2 more than a multiple of 3)
+	private int pairSuits;
+	//	Number of honor tiles with 0-4 copies in hand
+	private int[] honorCounts;
+	//	Tiles of each suit that would make the suit winning, and whether
+	//	they are up to date with the suit
+	private long[] suitWaits;
+	private boolean[] suitWaitsValid;
+	//	Tiles that would complete the hand, bit i set for tile id i
+	private long waits;
+	//	Whether waits is up to date with the hand
+	private boolean waitsValid;
+	//	Tiles this player could KONG, PENG or CHI if discarded, bit i set
+	//	for tile id i, kept up to date as the hand changes
+	private long kongTiles;
+	private long pengTiles;
+	private long chiTiles;
 	//	NEVER PASS shown IN AS PARAMETER, ALWAYS USE getShown() to make copy
 	private List<TileSet> shown;
 	//	Player number, same as index in array of players in Mahjong class
 	private int playerNum;
 	//	Whether or not this player is a bot
 	private boolean isBot;
+	//	Whether this player plays without printing or pausing
+	private boolean headless;
+	//	Stream moves are announced on
+	private PrintStream out = System.out;
+	//	Tiles every player can see, set by the game, null if not in a game
+	private VisibleTiles visible;
 	
 	/*	Constructors	*/
 	/**	Player constructor with only player number
@@ -24,7 +64,8 @@ public class Player {
 	 * 	@param	player number
 	 */
 	public Player(int playerNumber) {
-		hand = new PriorityQueue<Tile>(new TileComparator());
+		hand = new int[Tile.NUM_TYPES];
+		initWinState();
 		shown = new ArrayList<TileSet>();
 		playerNum = playerNumber;
 		isBot = true;
@@ -34,60 +75,133 @@ public class Player {
 	 * 	@param	whether or not this player is a bot
 	 */
 	public Player(int playerNumber, boolean isBot) {
-		hand = new PriorityQueue<Tile>(new TileComparator());
+		hand = new int[Tile.NUM_TYPES];
+		initWinState();
 		shown = new ArrayList<TileSet>();
 		playerNum = playerNumber;
 		this.isBot = isBot;
 	}
+	/**	Sets up the win state of an empty hand, where every suit is
+	 * 	winning with no pair
+	 */
+	private void initWinState() {
+		suitKeys = new int[4];
+		suitCounts = new int[4];
+		suitWinning = new boolean[] {true, true, true, true};
+		winningSuits = 4;
+		pairSuits = 0;
+		honorCounts = new int[5];
+		honorCounts[0] = 7;
+		suitWaits = new long[4];
+		suitWaitsValid = new boolean[4];
+	}
 	
 	/**	Draw a tile by adding the tile to hand
 	 * 	@param	tile to draw
 	 */
 	public void draw(Tile t) {
-		hand.add(t);
+		addTile(t.getId());
 	}
 	
-	/**	Discard a tile prompted by the user
-	 * 	@return	Tile discarded
+	/**	Adds one tile to the hand counts
+	 * 	@param	id of tile to add
 	 */
-	public Tile discard() {
-		//	Keep prompting user until valid discard is chosen
-		int discardIndex = 0;
-		//	Print hand
-		System.out.println("\n\nYour hand:");
-		//	Number the tiles in hand
-		for (int i = 0; i < hand.size(); i++) {
-			System.out.print("   " + i + "    ");
-			if (i < 10)
-				System.out.print(" ");
+	private void addTile(int id) {
+		int suit = id / 9;
+		if (suit == 3) {
+			honorCounts[hand[id]]--;
+			honorCounts[hand[id] + 1]++;
 		}
-		System.out.println("");
-		printHand();
-		//	Get selection from user
-		System.out.println("");
-		discardIndex = Prompt.getInt("Which tile would you like to discard? "
-				+ "(Tiles start from 0)", -1, hand.size() - 1);
-		
-		if (discardIndex == -1) {
-			System.out.println("\nPROGRAM EXITED\n");
-			System.exit(0);
+		hand[id]++;
+		handSize++;
+		suitKeys[suit] += HandSuit.POW5[id - suit * 9];
+		suitCounts[suit]++;
+		updateSuit(suit, suitCounts[suit] - 1);
+		updateClaimTiles(id);
+	}
+	/**	Removes one tile from the hand counts
+	 * 	Assumes tile is present in the hand
+	 * 	@param	id of tile to remove
+	 */
+	private void removeTile(int id) {
+		int suit = id / 9;
+		if (suit == 3) {
+			honorCounts[hand[id]]--;
+			honorCounts[hand[id] - 1]++;
 		}
-		
-		//	Discard selected tile
-		//	Create temp array to hold tiles
-		List<Tile> temp = new ArrayList<>();
-		for (int i = 0; i < discardIndex; i++) {
-			temp.add(hand.poll());
+		hand[id]--;
+		handSize--;
+		suitKeys[suit] -= HandSuit.POW5[id - suit * 9];
+		suitCounts[suit]--;
+		updateSuit(suit, suitCounts[suit] + 1);
+		updateClaimTiles(id);
+	}
+	/**	Updates the tiles that can be claimed after the count of one tile
+	 * 	changed. Only that tile can change for KONG and PENG, and only
+	 * 	tiles up to 2 away in the same suit for CHI.
+	 * 	@param	id of tile that changed
+	 */
+	private void updateClaimTiles(int id) {
+		long bit = 1L << id;
+		kongTiles = hand[id] == 3 ? kongTiles | bit : kongTiles & ~bit;
+		pengTiles = hand[id] >= 2 ? pengTiles | bit : pengTiles & ~bit;
+		//	Honors can't be CHI
+		if (id >= 27)
+			return;
+		int low = id - id % 9;
+		for (int other = Math.max(low, id - 2); other <= Math.min(low + 8, id + 2); other++) {
+			bit = 1L << other;
+			chiTiles = isChiInHand(other) ? chiTiles | bit : chiTiles & ~bit;
 		}
-		//	Discard the actual tile
-		Tile discarded = hand.poll();
+	}
+	/**	Checks whether the hand has 2 tiles making a sequence with a tile
+	 * 	@param	id of numbered tile
+	 * 	@return	whether the tile can be CHI
+	 */
+	private boolean isChiInHand(int id) {
+		//	Check which tiles with values 1 and 2 below and above the hand contains
+		int value = id % 9 + 1;
+		boolean hasBelow2 = value - 2 > 0 && hand[id - 2] > 0;
+		boolean hasBelow1 = value - 1 > 0 && hand[id - 1] > 0;
+		boolean hasAbove1 = value + 1 < 10 && hand[id + 1] > 0;
+		boolean hasAbove2 = value + 2 < 10 && hand[id + 2] > 0;
 		
-		//	Return temp to hand
-		while (!temp.isEmpty()) {
-			hand.add(temp.remove(0));
-		}
+		//	True if combinations met, false otherwise
+		if (hasBelow2 && hasBelow1)
+			return true;
+		if (hasBelow1 && hasAbove1)
+			return true;
+		if (hasAbove1 && hasAbove2)
+			return true;
 		
-		return discarded;
+		return false;
+	}
+	/**	Updates the win state after one tile of a suit was added or removed
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 * 	@param	number of tiles of that suit before the change
+	 */
+	private void updateSuit(int suit, int oldCount) {
+		if (oldCount % 3 == 2)
+			pairSuits--;
+		if (suitCounts[suit] % 3 == 2)
+			pairSuits++;
+		boolean winning = isSuitWinning(suit, suitCounts[suit]);
+		if (winning != suitWinning[suit]) {
+			suitWinning[suit] = winning;
+			winningSuits += winning ? 1 : -1;
+		}
+		suitWaitsValid[suit] = false;
+		waitsValid = false;
+	}
+	
+	/**	Discard a tile chosen by this player's agent
+	 * 	Assumes tile is present in the hand
+	 * 	@param	Tile to discard
+	 * 	@return	Tile discarded
+	 */
+	public Tile discard(Tile t) {
+		removeTile(t.getId());
+		return t;
 	}
 	/**	Deletes a Tile from hand
 	 * 	Called by bot to access hand
@@ -95,21 +209,28 @@ public class Player {
 	 * 	@param	Tile to delete from hand
 	 */
 	public void handDelete(Tile t) {
-		Queue<Tile> temp = new LinkedList<>();
-		while (!hand.peek().equals(t))
-			temp.add(hand.poll());
-		hand.poll();
-		while (!temp.isEmpty())
-			hand.add(temp.poll());
+		removeTile(t.getId());
 	}
 	
 	/**	Prints hand	*/
 	public void printHand() {
-		Tile.printTileQueue(getHand());
+		printHand(System.out);
+	}
+	/**	Prints hand to a stream
+	 * 	@param	stream to print to
+	 */
+	public void printHand(PrintStream out) {
+		Tile.printTileList(getHandList(), out);
 	}
 	/**	Prints shown tiles	*/
 	public void printShown() {
-		Tile.printSetList(getShown());
+		printShown(System.out);
+	}
+	/**	Prints shown tiles to a stream
+	 * 	@param	stream to print to
+	 */
+	public void printShown(PrintStream out) {
+		Tile.printSetList(getShown(), out);
 	}
 	
 	/**	Check if current hand can be winning
@@ -117,97 +238,142 @@ public class Player {
 	 * 	Only call after drawing a card and before discarding
 	 */
 	public boolean hasWon() {
-		//	Create four queues for each suit and move hand into these queues
-		Queue<Tile> hand = getHand();
-		//	Queue for each suit
-		Queue<Tile> tongs = new PriorityQueue<>(new TileComparator());
-		Queue<Tile> tiaos = new PriorityQueue<>(new TileComparator());
-		Queue<Tile> wans = new PriorityQueue<>(new TileComparator());
-		Queue<Tile> specs = new PriorityQueue<>(new TileComparator());
-		//	Adding hand to each suit queue
-		while (!hand.isEmpty() && hand.peek().getSuit() == Tile.SUIT.TONG) {
-			tongs.add(hand.poll());
-		}
-		while (!hand.isEmpty() && hand.peek().getSuit() == Tile.SUIT.TIAO) {
-			tiaos.add(hand.poll());
-		}
-		while (!hand.isEmpty() && hand.peek().getSuit() == Tile.SUIT.WAN) {
-			wans.add(hand.poll());
-		}
-		while (!hand.isEmpty() && hand.peek().getSuit() == Tile.SUIT.SPEC) {
-			specs.add(hand.poll());
-		}
-		
-		//	Turn queues into HandSuit objects
-		HandSuit tongSuit = new HandSuit(tongs, Tile.SUIT.TONG);
-		HandSuit tiaoSuit = new HandSuit(tiaos, Tile.SUIT.TIAO);
-		HandSuit wanSuit = new HandSuit(wans, Tile.SUIT.WAN);
-		HandSuit specSuit = new HandSuit(specs, Tile.SUIT.SPEC);
-		
-		//	Keep track of number of suits that could be winning
-		int numPairs = 0;
-		
-		//	Make sure each suit has the right count or right count with pair
-		if (!tongSuit.isCountRight() && !tongSuit.isCountRightPair())
-			return false;
-		else if (tongSuit.isCountRightPair())
-			numPairs++;
-			
-		if (!tiaoSuit.isCountRight() && !tiaoSuit.isCountRightPair())
-			return false;
-		else if (tiaoSuit.isCountRightPair())
-			numPairs++;
-			
-		if (!wanSuit.isCountRight() && !wanSuit.isCountRightPair())
-			return false;
-		else if (wanSuit.isCountRightPair())
-			numPairs++;
-			
-		if (!specSuit.isCountRight() && !specSuit.isCountRightPair())
-			return false;
-		else if (specSuit.isCountRightPair())
-			numPairs++;
-		
-		//	There can only be one pair
-		if (numPairs != 1)
+		//	Every suit must be fully used to make sets, with exactly one
+		//	suit also holding the pair
+		return winningSuits == 4 && pairSuits == 1;
+	}
+	/**	Checks whether the tiles of one suit are only sets, or sets and one
+	 * 	pair if the count of the suit has room for a pair
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 * 	@param	number of tiles of that suit
+	 * 	@return	whether the suit can be winning
+	 */
+	private boolean isSuitWinning(int suit, int count) {
+		if (count % 3 == 1)
 			return false;
-
-		//	Check whether tiles in each suit can be fully used to make sets
-		//	and a pair if it should contain one
-		return tongSuit.isWinning(tongSuit.isCountRightPair()) &&
-				tiaoSuit.isWinning(tiaoSuit.isCountRightPair()) &&
-				wanSuit.isWinning(wanSuit.isCountRightPair()) &&
-				specSuit.isWinning(specSuit.isCountRightPair());
+		//	Honors can't make sequences, so every honor must be a 3 of a
+		//	kind, other than the pair
+		if (suit == 3)
+			return honorCounts[1] == 0 && honorCounts[4] == 0
+					&& honorCounts[2] == (count % 3 == 2 ? 1 : 0);
+		return HandSuit.isWinningKey(suitKeys[suit], count % 3 == 2);
 	}
 	/**	Check if with the new tile, the current hand can be winning
 	 * 	Assume shown is filled with valid sets
 	 * 	Call after drawing a tile and before discarding
 	 */
 	public boolean hasWon(Tile finalTile) {
-		//	Store original hand
-		Queue<Tile> originalHand = getHand();
+		//	If the hand is a tile short of winning, look up the waiting tiles
+		if (handSize % 3 == 1)
+			return (getWaitingTiles() >>> finalTile.getId() & 1) != 0;
+		//	A fifth copy of a tile can't exist
+		if (hand[finalTile.getId()] == 4)
+			return false;
 		//	Draw tile to hand
-		hand.add(finalTile);
+		addTile(finalTile.getId());
 		//	Check if hand with final tile is winning
 		boolean isWon = hasWon();
 		//	Revert to original hand ("undraw" the tile)
-		hand = originalHand;
+		removeTile(finalTile.getId());
 		return isWon;
 	}
 	
+	/**	Finds every tile that would complete the hand. The tiles are found
+	 * 	together and kept until the hand changes, so checking a tile after
+	 * 	every discard is a bit test. Only the suit that changed is checked
+	 * 	again after a draw or discard.
+	 * 	Call while the hand is a tile short of winning (between turns)
+	 * 	@return	tiles that win, bit i set for tile id i
+	 */
+	public long getWaitingTiles() {
+		if (waitsValid)
+			return waits;
+		waits = 0;
+		//	The winning tile goes into one suit, all other suits must
+		//	already be winning with exactly one pair between all suits
+		for (int suit = 0; suit < 4; suit++) {
+			int count = suitCounts[suit];
+			int otherWinning = winningSuits - (suitWinning[suit] ? 1 : 0);
+			int pairs = pairSuits - (count % 3 == 2 ? 1 : 0) + ((count + 1) % 3 == 2 ? 1 : 0);
+			if (otherWinning == 3 && pairs == 1 && (count + 1) % 3 != 1)
+				waits |= getSuitWaits(suit);
+		}
+		waitsValid = true;
+		return waits;
+	}
+	/**	Finds the tiles of one suit that would make the suit winning
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 * 	@return	tiles that make the suit winning, bit i set for tile id i
+	 */
+	private long getSuitWaits(int suit) {
+		if (suitWaitsValid[suit])
+			return suitWaits[suit];
+		long bits = 0;
+		boolean pair = (suitCounts[suit] + 1) % 3 == 2;
+		//	Try each tile of the suit, skipping tiles with all 4 in hand
+		for (int id = suit * 9; id < Math.min(suit * 9 + 9, Tile.NUM_TYPES); id++) {
+			int c = hand[id];
+			if (c == 4)
+				continue;
+			boolean winning;
+			if (suit == 3) {
+				//	Adding the tile moves it from c copies to c + 1 copies
+				int ones = honorCounts[1] - (c == 1 ? 1 : 0) + (c == 0 ? 1 : 0);
+				int twos = honorCounts[2] - (c == 2 ? 1 : 0) + (c == 1 ? 1 : 0);
+				int fours = honorCounts[4] + (c == 3 ? 1 : 0);
+				winning = ones == 0 && fours == 0 && twos == (pair ? 1 : 0);
+			}
+			else
+				winning = HandSuit.isWinningKey(suitKeys[suit] + HandSuit.POW5[id - suit * 9], pair);
+			if (winning)
+				bits |= 1L << id;
+		}
+		suitWaits[suit] = bits;
+		suitWaitsValid[suit] = true;
+		return bits;
+	}
+	/**	@return	list of every tile that would complete the hand	*/
+	public List<Tile> getWaitingTileList() {
+		List<Tile> list = new ArrayList<>();
+		long bits = getWaitingTiles();
+		while (bits != 0) {
+			list.add(Tile.fromId(Long.numberOfTrailingZeros(bits)));
+			bits &= bits - 1;
+		}
+		return list;
+	}
+	
+	/**	Finds how far the hand is from ready, see Shanten
+	 * 	@return	tiles to swap to be ready, 0 if ready, -1 if winning
+	 */
+	public int getShanten() {
+		return Shanten.combine(Shanten.entry(0, suitKeys[0]), Shanten.entry(1, suitKeys[1]),
+				Shanten.entry(2, suitKeys[2]), Shanten.entry(3, suitKeys[3]), shown.size());
+	}
+	/**	Finds how far the hand would be from ready without a tile
+	 * 	Assumes tile is present in the hand
+	 * 	@param	tile to leave out
+	 * 	@return	tiles to swap to be ready, 0 if ready, -1 if winning
+	 */
+	public int getShanten(Tile without) {
+		int id = without.getId();
+		int suit = id / 9;
+		int[] keys = {suitKeys[0], suitKeys[1], suitKeys[2], suitKeys[3]};
+		keys[suit] -= HandSuit.POW5[id - suit * 9];
+		return Shanten.combine(Shanten.entry(0, keys[0]), Shanten.entry(1, keys[1]),
+				Shanten.entry(2, keys[2]), Shanten.entry(3, keys[3]), shown.size());
+	}
+	
 	/*	Check if player can take tile from center	*/
 	/**	Checks if player can KONG the tile being discarded
 	 * 	@param	Tile to check if takable
 	 * 	@return Whether or not tile can be KONG
 	 */
 	public boolean canKong(Tile discard) {
-		//	Count how many copies of discard are in hand
-		int copyCount = 0;
-		Queue<Tile> hand = getHand();
-		while (!hand.isEmpty())
-			if (hand.poll().equals(discard))
-				copyCount++;
-		return copyCount == 3;
+		//	If discard is null, can't KONG
+		if (discard == null)
+			return false;
+		return (getKongTiles() >>> discard.getId() & 1) != 0;
 	}
 	/**	KONG the given tile with tiles in hand into shown
 	 * 	Precondition: canKong
@@ -215,27 +381,19 @@ public class Player {
 	 */
 	public void kong(Tile discard) {
 		//	Announce the kong
-		System.out.println("KONG: Player " + getPlayerNum());
-		try {
-			//	Sleep 1 second
-			Thread.sleep(1000);
-		}
-		catch (Exception e) {}
-		Queue<Tile> newHand = new PriorityQueue<>(new TileComparator());
+		announce("KONG: Player " + getPlayerNum());
+		//	Sleep 1 second
+		pause(1000);
 		//	List of tiles to make into tileSet
 		List<Tile> kongSet = new ArrayList<>();
 		kongSet.add(discard);
 		//	Remove tiles to be KONG from hand and add to list to be tileSet
-		while (!hand.isEmpty()) {
-			Tile temp = hand.poll();
-			if (temp.equals(discard))
-				kongSet.add(temp);
-			else
-				newHand.add(temp);
+		int id = discard.getId();
+		while (hand[id] > 0) {
+			removeTile(id);
+			kongSet.add(Tile.fromId(id));
 		}
-		//	Replace hand without including tiles used
-		hand = newHand;
-		//	Add new KONG set to shownimport java.util.concurrent.TimeUnit;
+		//	Add new KONG set to shown
 		shown.add(new TileSet(kongSet));
 	}
 	/** Checks if player can KONG drawn tile with shown PENG
@@ -266,13 +424,7 @@ public class Player {
 	 * 	@return Whether or not tile can be PENG
 	 */
 	public boolean canPeng(Tile discard) {
-		//	Count how many copies of discard are in hand
-		int copyCount = 0;
-		Queue<Tile> hand = getHand();
-		while (!hand.isEmpty())
-			if (hand.poll().equals(discard))
-				copyCount++;
-		return copyCount >= 2;
+		return (getPengTiles() >>> discard.getId() & 1) != 0;
 	}
 	/**	PENG the given tile with tiles in hand into shown
 	 * 	Precondition: canPeng
@@ -280,28 +432,20 @@ public class Player {
 	 */
 	public void peng(Tile discard) {
 		//	Announce the peng
-		System.out.println("PENG: Player " + getPlayerNum());
-		try {
-			//	Sleep 1 second
-			Thread.sleep(1000);
-		}
-		catch (Exception e) {}
-		Queue<Tile> newHand = new PriorityQueue<>(new TileComparator());
+		announce("PENG: Player " + getPlayerNum());
+		//	Sleep 1 second
+		pause(1000);
 		//	List of tiles to make into tileSet
 		List<Tile> pengSet = new ArrayList<>();
 		pengSet.add(discard);
 		//	Remove tiles to be PENG from hand and add to list to be tileSet
 		//	Do not take more than2 tiles from hand in case a kong is valid
 		//	but not chosen
-		while (!hand.isEmpty()) {
-			Tile temp = hand.poll();
-			if (temp.equals(discard) && pengSet.size() <= 2)
-				pengSet.add(temp);
-			else
-				newHand.add(temp);
+		int id = discard.getId();
+		while (hand[id] > 0 && pengSet.size() <= 2) {
+			removeTile(id);
+			pengSet.add(Tile.fromId(id));
 		}
-		//	Replace hand without including tiles used
-		hand = newHand;
 		//	Add new KONG set to shown
 		shown.add(new TileSet(pengSet));
 	}
@@ -322,200 +466,73 @@ public class Player {
 	 * 	@return Whether or not the tile can be CHI
 	 */
 	public boolean canChi(Tile discard) {
-		//	If the tile is an honor, it cannot be CHI
-		if (discard.getSuit() == Tile.SUIT.SPEC)
-			return false;
+		return (getChiTiles() >>> discard.getId() & 1) != 0;
+	}
+	
+	/**	Tiles that could be claimed, read by ClaimArbiter after every
+	 * 	discard. Bot overrides these with the tiles its hidden sets need.
+	 * 	@return	tiles this player can KONG, bit i set for tile id i
+	 */
+	public long getKongTiles() {
+		return kongTiles;
+	}
+	/**	@return	tiles this player can PENG, bit i set for tile id i	*/
+	public long getPengTiles() {
+		return pengTiles;
+	}
+	/**	@return	tiles this player can CHI, bit i set for tile id i	*/
+	public long getChiTiles() {
+		return chiTiles;
+	}
+	/**	Finds every sequence that can be made with the tile being
+	 * 	discarded and tiles in hand
+	 * 	@param	Tile to CHI
+	 * 	@return	sequences that can be made, in order from lowest
+	 */
+	public List<TileSet> getChiOptions(Tile discard) {
 		//	Check hand for tiles with values 1 and 2 below and above
-		Tile below2 = null;
-		Tile below1 = null;
-		Tile above1 = null;
-		Tile above2 = null;
-		if (discard.getValue() - 2 > 0)
-			below2 = new Tile(discard.getSuit(), discard.getValue() - 2);
-		if (discard.getValue() - 1 > 0)
-			below1 = new Tile(discard.getSuit(), discard.getValue() - 1);
-		if (discard.getValue() + 1 < 10)
-			above1 = new Tile(discard.getSuit(), discard.getValue() + 1);
-		if (discard.getValue() + 2 < 10)
-			above2 = new Tile(discard.getSuit(), discard.getValue() + 2);
-		
-		//	Check which of the above the hand contains
-		boolean hasBelow2 = false;
-		boolean hasBelow1 = false;
-		boolean hasAbove1 = false;
-		boolean hasAbove2 = false;
+		int id = discard.getId();
+		int value = discard.getValue();
+		boolean hasBelow2 = value - 2 > 0 && hand[id - 2] > 0;
+		boolean hasBelow1 = value - 1 > 0 && hand[id - 1] > 0;
+		boolean hasAbove1 = value + 1 < 10 && hand[id + 1] > 0;
+		boolean hasAbove2 = value + 2 < 10 && hand[id + 2] > 0;
 		
-		Queue<Tile> hand = getHand();
-		while(!hand.isEmpty()) {
-			Tile temp = hand.poll();
-			if (below2 != null && temp.equals(below2))
-				hasBelow2 = true;
-			else if (below1 != null && temp.equals(below1))
-				hasBelow1 = true;
-			else if (above1 != null && temp.equals(above1))
-				hasAbove1 = true;
-			else if (above2 != null && temp.equals(above2))
-				hasAbove2 = true;
-		}
-		
-		//	True if combinations met, false otherwise
+		//	Add all set options
+		List<TileSet> chiOptions = new ArrayList<TileSet>();
+		//	Lower - hand contains lower 2, discard is high tile
 		if (hasBelow2 && hasBelow1)
-			return true;
+			chiOptions.add(new TileSet(Tile.fromId(id - 2), discard, Tile.fromId(id - 1)));
+		//	Middle - hand contains first and last, discard is middle
 		if (hasBelow1 && hasAbove1)
-			return true;
+			chiOptions.add(new TileSet(Tile.fromId(id - 1), discard, Tile.fromId(id + 1)));
+		//	Upper - hand contains upper 2, discard is the low card
 		if (hasAbove1 && hasAbove2)
-			return true;
-		
-		return false;
+			chiOptions.add(new TileSet(Tile.fromId(id + 1), discard, Tile.fromId(id + 2)));
+		return chiOptions;
 	}
-	/**	CHI the given tile with tiles in hand into shown
+	/**	CHI the given tile with tiles in hand into shown, making the
+	 * 	first sequence possible
 	 * 	Precondition: canChi
 	 * 	@param	Tile to CHI
 	 */
 	public void chi(Tile discard) {
+		chi(discard, 0);
+	}
+	/**	CHI the given tile with tiles in hand into shown
+	 * 	Precondition: canChi
+	 * 	@param	Tile to CHI
+	 * 	@param	index of sequence to make in getChiOptions
+	 */
+	public void chi(Tile discard, int option) {
 		//	Announce the chi
-		System.out.println("CHI: Player " + getPlayerNum());
-		try {
-			//	Sleep 1 second
-			Thread.sleep(1000);
-		}
-		catch (Exception e) {}
-		
-		//	Check hand for tiles with values 1 and 2 below and above
-		Tile below2 = null;
-		Tile below1 = null;
-		Tile above1 = null;
-		Tile above2 = null;
-		if (discard.getValue() - 2 > 0)
-			below2 = new Tile(discard.getSuit(), discard.getValue() - 2);
-		if (discard.getValue() - 1 > 0)
-			below1 = new Tile(discard.getSuit(), discard.getValue() - 1);
-		if (discard.getValue() + 1 < 10)
-			above1 = new Tile(discard.getSuit(), discard.getValue() + 1);
-		if (discard.getValue() + 2 < 10)
-			above2 = new Tile(discard.getSuit(), discard.getValue() + 2);
-		
-		//	Check which of the above the hand contains
-		boolean hasBelow2 = false;
-		boolean hasBelow1 = false;
-		boolean hasAbove1 = false;
-		boolean hasAbove2 = false;
-		
-		Queue<Tile> newHand = new PriorityQueue<>(new TileComparator());
-		while(!hand.isEmpty()) {
-			Tile temp = hand.poll();
-			if (below2 != null && temp.equals(below2) && !hasBelow2) {
-				hasBelow2 = true;
-				below2 = temp;
-			}
-			else if (below1 != null && temp.equals(below1) && !hasBelow1) {
-				hasBelow1 = true;
-				below1 = temp;
-			}
-			else if (above1 != null && temp.equals(above1) && !hasAbove1) {
-				hasAbove1 = true;
-				above1 = temp;
-			}
-			else if (above2 != null && temp.equals(above2) && !hasAbove2) {
-				hasAbove2 = true;
-				above2 = temp;
-			}
-			else
-				newHand.add(temp);
-		}
-		
-		//	Revert tilse back to null if not found in hand
-		if (!hasBelow2)
-			below2 = null;
-		if (!hasBelow1)
-			below1 = null;
-		if (!hasAbove1)
-			above1 = null;
-		if (!hasAbove2)
-			above2 = null;
-		
-		//	Check the combination of CHIs that are allowed
-		//	Ask the player which CHI they would like to do
-		//	Lower - hand contains lower 2, discard is high tile
-		boolean canLowerChi = false;
-		//	Middle - hand contains first and last, discard is middle
-		boolean canMiddleChi = false;
-		//	Upper - hand contains upper 2, discard is the low card
-		boolean canUpperChi = false;
-		
-		if (hasBelow2 && hasBelow1)
-			canLowerChi = true;
-		if (hasBelow1 && hasAbove1)
-			canMiddleChi = true;
-		if (hasAbove1 && hasAbove2)
-			canUpperChi = true;
-		
-		//	Add all set options
-		List<TileSet> chiOptions = new ArrayList<TileSet>();
-		if (canLowerChi)
-			chiOptions.add(new TileSet(below2, discard, below1));
-		if (canMiddleChi)
-			chiOptions.add(new TileSet(below1, discard, above1));
-		if (canUpperChi)
-			chiOptions.add(new TileSet(above1, discard, above2));
-		
-		//	If only one option, automatically add it to shown
-		if (chiOptions.size() == 1) {
-			//	Add set to shown
-			shown.add(chiOptions.get(0));
-			//	Replace hand
-			this.hand = newHand;
-			return;
-		}
-		
-		//	Prompt used for which chi to take if more than one option and player isnt bot
-		//	Message with valid sets
+		announce("CHI: Player " + getPlayerNum());
+		//	Sleep 1 second
+		pause(1000);
 		
-		int n = 0;
-		//	Keep selection at 0 if is bot, otherwize, let user select
-		int selection = 0;
-		if (!isBot()) {
-			System.out.println("Please choose the sequence you would like to make:\n");
-			for (TileSet set: chiOptions) {
-				System.out.println("Option " + n + ":");
-				for (int i = 1; i <= 5; i++) {
-					set.print(i);
-					System.out.println("");
-				}
-				n++;
-			}
-			//	Get selection from user
-			selection = Prompt.getInt("Which set should be made?", -1, 
-													chiOptions.size() - 1);
-		}
-		
-		if (selection == -1) {
-			System.out.println("\nPROGRAM EXITED\n");
-			System.exit(0);
-		}
-		
-		//	Add selected set to shown
-		shown.add(chiOptions.get(selection));
-		
-		//	Other unused tiles returned to hand
-		//	Reuse booleans to check whether each tile should be added back
-		//	to hand. If null or the added set, it should not be added to hand.
-		hasBelow2 = below2 == null ? false : !chiOptions.get(selection).hasTile(below2);
-		hasBelow1 = below1 == null ? false : !chiOptions.get(selection).hasTile(below1);
-		hasAbove1 = above1 == null ? false : !chiOptions.get(selection).hasTile(above1);
-		hasAbove2 = above2 == null ? false : !chiOptions.get(selection).hasTile(above2);
-		
-		//	Return tiles to new hand
-		if (hasBelow2)
-			newHand.add(below2);
-		if (hasBelow1)
-			newHand.add(below1);
-		if (hasAbove1)
-			newHand.add(above1);
-		if (hasAbove2)
-			newHand.add(above2);
-		//	Replenish hand
-		hand = newHand;
+		//	Add selected set to shown, removing the 2 tiles of the sequence
+		//	other than the discard from hand
+		addShownSet(getChiOptions(discard).get(option), discard);
 	}
 	
 	/**	Adds TileSet to shown
@@ -523,41 +540,83 @@ public class Player {
 	 * 	@param	TileSet to add
 	 */
 	public void addShownSet(TileSet set) {
+		addShownSet(set, null);
+	}
+	/**	Adds TileSet made with a taken tile to shown
+	 * 	Removes tiles in tileset from hand, other than the taken tile
+	 * 	which was never in hand
+	 * 	@param	TileSet to add
+	 * 	@param	Tile taken to make the set, null if all came from hand
+	 */
+	public void addShownSet(TileSet set, Tile taken) {
 		//	Add set to shown
 		shown.add(set);
-		//	Remove tiles in set from hand
-		Queue<Tile> replacement = new PriorityQueue<>(new TileComparator());
-		List<Tile> setTiles = set.getTiles();
-		while(!hand.isEmpty()) {
-			Tile current = hand.poll();
-			//	Check if the set contains current tile
-			boolean isInSet = false;
-			for (int i = 0; i < setTiles.size(); i++) {
-				//	If current tile is in set, remove tile from set and dont readd to hand
-				if (setTiles.get(i).equals(current)) {
-					setTiles.remove(current);
-					isInSet = true;
-					break;
-				}
-			}
-			//	If tile isn't in set, add it to hand replacement
-			if (!isInSet)
-				replacement.add(current);
+		//	Remove tiles in set from hand, if hand has them
+		boolean skipped = taken == null;
+		for (Tile t: set.getTiles()) {
+			if (!skipped && t.equals(taken))
+				skipped = true;
+			else if (hand[t.getId()] > 0)
+				removeTile(t.getId());
 		}
-		//	Replace hand
-		hand = replacement;
 	}
 	
 	
 	/*	Accessors, returning copies of objects if applicable	*/
-	/**	@return	a copy of hand queue*/
+	/**	@return	a copy of hand as a queue*/
 	public Queue<Tile> getHand() {
-		return new PriorityQueue<Tile>(hand);
+		return new PriorityQueue<Tile>(getHandList());
+	}
+	/**	@return	a sorted list of the tiles in hand*/
+	public List<Tile> getHandList() {
+		List<Tile> list = new ArrayList<>(handSize);
+		for (int id = 0; id < Tile.NUM_TYPES; id++)
+			for (int i = 0; i < hand[id]; i++)
+				list.add(Tile.fromId(id));
+		return list;
+	}
+	/**	@return	number of tiles in hand*/
+	public int getHandSize() {
+		return handSize;
+	}
+	/**	Tiles in hand can be read in order without copying by going
+	 * 	through ids 0-33 and reading the count of each
+	 * 	@param	id of tile to count
+	 * 	@return	number of copies of the tile in hand
+	 */
+	public int getCount(int id) {
+		return hand[id];
 	}
 	/**	@return	a copy of shown list*/
 	public List<TileSet> getShown() {
 		return new ArrayList<TileSet>(shown);
 	}
+	/**	@return	number of sets shown	*/
+	public int getShownSize() {
+		return shown.size();
+	}
+	/**	@return	base 5 key of the tiles of one suit in hand (see HandSuit)
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 */
+	public int getSuitKey(int suit) {
+		return suitKeys[suit];
+	}
+	/**	@return	the set shown last, null if none are shown	*/
+	public TileSet getLastShown() {
+		return shown.isEmpty() ? null : shown.get(shown.size() - 1);
+	}
+	/**	@return	counts of the tiles every player can see, null if not in a
+	 * 			game
+	 */
+	public VisibleTiles getVisibleTiles() {
+		return visible;
+	}
+	/**	Sets the counts of the tiles every player can see, done by the game
+	 * 	@param	counts of visible tiles
+	 */
+	public void setVisibleTiles(VisibleTiles visible) {
+		this.visible = visible;
+	}
 	/**	@return playerNum field variable*/
 	public int getPlayerNum() {
 		return playerNum;
@@ -567,6 +626,73 @@ public class Player {
 		return isBot;
 	}
 	
+	/**	@return whether this player plays without printing or pausing*/
+	public boolean isHeadless() {
+		return headless;
+	}
+	/**	Sets whether this player plays without printing or pausing
+	 * 	@param	whether this player is headless
+	 */
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+	
+	/**	Sets the stream moves are announced on
+	 * 	@param	stream to print to
+	 */
+	public void setOutput(PrintStream out) {
+		this.out = out;
+	}
+	
+	/**	Prints a message about this player's move, unless headless
+	 * 	@param	message to print
+	 */
+	protected void announce(String message) {
+		if (!headless)
+			out.println(message);
+	}
+	/**	Pauses so this player's move can be followed, unless headless
+	 * 	Parks instead of sleeping, so a game on a virtual thread frees its
+	 * 	carrier thread while it waits
+	 * 	@param	milliseconds to pause for
+	 */
+	protected void pause(long millis) {
+		if (headless)
+			return;
+		out.flush();
+		LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+	
+	/**	Saves the hand and shown sets into a game state, at this player's
+	 * 	seat
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		int seat = playerNum;
+		System.arraycopy(hand, 0, state.hands, seat * Tile.NUM_TYPES, Tile.NUM_TYPES);
+		for (int i = 0; i < shown.size(); i++)
+			state.shown[seat * GameState.MAX_SETS + i] = shown.get(i).getCode();
+		state.shownSizes[seat] = shown.size();
+	}
+	/**	Loads the hand and shown sets from a game state, at this player's
+	 * 	seat. The hand is changed one tile at a time from what it holds, so
+	 * 	the win state stays up to date.
+	 * 	@param	state to load
+	 */
+	public void loadFrom(GameState state) {
+		int seat = playerNum;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			int count = state.hands[seat * Tile.NUM_TYPES + id];
+			while (hand[id] > count)
+				removeTile(id);
+			while (hand[id] < count)
+				addTile(id);
+		}
+		shown.clear();
+		for (int i = 0; i < state.shownSizes[seat]; i++)
+			shown.add(TileSet.fromCode(state.shown[seat * GameState.MAX_SETS + i]));
+	}
+
 	/**	@return whether this player is equal to another	*/
 	public boolean equals(Player other) {
 		return this.getPlayerNum() == other.getPlayerNum();
@@ -1,6 +1,10 @@
 import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
 
 /**
  *	Prompt.java - Uses BufferedReader.
@@ -11,15 +15,45 @@ import java.io.IOException;
  *	The advantages of BufferedReader are speed, synchronization, and piping
  *	data in Linux.
  *
+ *	The static methods prompt on the console. A Prompt object reads from
+ *	and prints to its own streams, such as a network connection, with the
+ *	same methods named read instead of get.
+ *
  *	@author	Charles Chang
  *	@since	September 7 2023
  */
 
 public class Prompt
 {
+	// Prompt on System.in and System.out used by the static methods
+	private static final Prompt CONSOLE = new Prompt(System.in, System.out);
+
 	// BufferedReader variables
-	private static InputStreamReader streamReader = new InputStreamReader(System.in);
-	private static BufferedReader buffReader = new BufferedReader(streamReader);
+	private BufferedReader buffReader;
+	// Stream prompts are printed to
+	private PrintStream out;
+
+	/**
+	 *	Creates a prompt reading from and printing to its own streams.
+	 *	@param in   Stream to read answers from
+	 *	@param out  Stream to print prompts to
+	 */
+	public Prompt (InputStream in, PrintStream out)
+	{
+		buffReader = new BufferedReader(new InputStreamReader(in));
+		this.out = out;
+	}
+
+	/**	@return  The prompt on the console	*/
+	public static Prompt console ()
+	{
+		return CONSOLE;
+	}
+	/**	@return  The stream prompts are printed to	*/
+	public PrintStream getOutput ()
+	{
+		return out;
+	}
 
 	/**
 	 *	Prompts user for string of characters and returns the string.
@@ -28,14 +62,78 @@ public class Prompt
 	 */
 	public static String getString (String ask)
 	{
-		System.out.print(ask + " -> ");
+		return CONSOLE.readString(ask);
+	}
+	/**
+	 *	Prompts the user for a character and returns the character.
+	 *	@param ask  The prompt line
+	 *	@return  	The character input
+	 */
+	public static char getChar (String ask)
+	{
+		return CONSOLE.readChar(ask);
+	}
+	/**
+	 *	Prompts the user for an integer and returns the integer.
+	 *	@param ask  The prompt line
+	 *	@return  	The integer input
+	 */
+	public static int getInt (String ask)
+	{
+		return CONSOLE.readInt(ask);
+	}
+	/**
+	 *	Prompts the user for an integer using a range of min to max,
+	 *	and returns the integer.
+	 *	@param ask  The prompt line
+	 *	@param min  The minimum integer accepted
+	 *	@param max  The maximum integer accepted
+	 *	@return  	The integer input
+	 */
+	public static int getInt (String ask, int min, int max)
+	{
+		return CONSOLE.readInt(ask, min, max);
+	}
+	/**
+	 *	Prompts the user for a double and returns the double.
+	 *	@param ask  The prompt line
+	 *	@return  The double input
+	 */
+	public static double getDouble (String ask)
+	{
+		return CONSOLE.readDouble(ask);
+	}
+	/**
+	 *	Prompts the user for a double and returns the double.
+	 *	@param ask  The prompt line
+	 *	@param min  The minimum double accepted
+	 *	@param max  The maximum double accepted
+	 *	@return  The double input
+	 */
+	public static double getDouble (String ask, double min, double max)
+	{
+		return CONSOLE.readDouble(ask, min, max);
+	}
+
+	/**
+	 *	Prompts user for string of characters and returns the string.
+	 *	@param ask  The prompt line
+	 *	@return  	The string input
+	 */
+	public String readString (String ask)
+	{
+		out.print(ask + " -> ");
+		out.flush();
 		String input = "";
 		try {
 			input = buffReader.readLine();
 		}
 		catch (IOException e) {
-			System.out.println("ERROR: BufferedReader could not read line");
+			out.println("ERROR: BufferedReader could not read line");
 		}
+		// No more input will come, so stop instead of prompting forever
+		if (input == null)
+			throw new UncheckedIOException(new EOFException("Input closed"));
 		return input;
 	}
 	
@@ -44,12 +142,12 @@ public class Prompt
 	 *	@param ask  The prompt line
 	 *	@return  	The character input
 	 */
-	public static char getChar (String ask)
+	public char readChar (String ask)
 	{
 		char c = 'a';
 		boolean found = false;
 		do{
-			String str = getString(ask);
+			String str = readString(ask);
 			if (str.length() == 1) {
 				c = str.charAt(0);
 				found = true;
@@ -63,12 +161,12 @@ public class Prompt
 	 *	@param ask  The prompt line
 	 *	@return  	The integer input
 	 */
-	public static int getInt (String ask)
+	public int readInt (String ask)
 	{
 		int val = 0;
 		boolean found = false;
 		while (!found) {
-			String str = getString(ask);
+			String str = readString(ask);
 			try {
 				val = Integer.parseInt(str);
 				found = true;
@@ -88,11 +186,11 @@ public class Prompt
 	 *	@param max  The maximum integer accepted
 	 *	@return  	The integer input
 	 */
-	public static int getInt (String ask, int min, int max)
+	public int readInt (String ask, int min, int max)
 	{
 		int val = 0;
 		do {
-			val = getInt(ask + " (" + min + ", " + max + ")");
+			val = readInt(ask + " (" + min + ", " + max + ")");
 		} while (val < min || val > max);
 		return val;
 	}
@@ -102,12 +200,12 @@ public class Prompt
 	 *	@param ask  The prompt line
 	 *	@return  The double input
 	 */
-	public static double getDouble (String ask)
+	public double readDouble (String ask)
 	{
 		double val = 0;
 		boolean found = false;
 		while (!found) {
-			String str = getString(ask);
+			String str = readString(ask);
 			try {
 				val = Double.parseDouble(str);
 				found = true;
@@ -126,11 +224,11 @@ public class Prompt
 	 *	@param max  The maximum double accepted
 	 *	@return  The double input
 	 */
-	public static double getDouble (String ask, double min, double max)
+	public double readDouble (String ask, double min, double max)
 	{
 		double val = 0;
 		do {
-			val = getDouble(ask + " (" + min + ", " + max + ")");
+			val = readDouble(ask + " (" + min + ", " + max + ")");
 		} while (val < min || val > max);
 		return val;
 	}
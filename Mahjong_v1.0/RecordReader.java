@@ -0,0 +1,148 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**	RecordReader class to read the games in a segment file written by
+ * 	GameRecorder. The segment is memory-mapped and read in place: moving
+ * 	to the next game only moves a position, and actions are read straight
+ * 	from the mapping, so scanning games makes no objects.
+ * 	Use:
+ * 	while (reader.next())
+ * 		for (int i = 0; i < reader.getActionCount(); i++)
+ * 			... reader.getAction(i) ...
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class RecordReader implements AutoCloseable {
+	/*	Field variables	*/
+	//	Mapping of the whole segment
+	private MappedByteBuffer buffer;
+	//	Channel the segment is mapped from
+	private FileChannel channel;
+	//	Position of the current game's header, and of the next game
+	private int game;
+	private int nextGame;
+	//	Number of actions in the current game
+	private int actionCount;
+
+	/*	Constructors	*/
+	/**	Maps a segment and checks its header
+	 * 	@param	path of the segment
+	 */
+	public RecordReader(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		if (buffer.limit() < GameRecord.FILE_HEADER_BYTES || buffer.getInt(0) != GameRecord.MAGIC)
+			throw new IOException(path + " is not a game record segment");
+		if (buffer.getShort(4) != GameRecord.VERSION)
+			throw new IOException(path + " has unknown version " + buffer.getShort(4));
+		game = -1;
+		nextGame = GameRecord.FILE_HEADER_BYTES;
+	}
+
+	//	Main method
+	//	Arguments: [directory]
+	//	Scans every game in the directory and prints what happened
+	public static void main(String[] args) throws IOException {
+		Path directory = Paths.get(args.length > 0 ? args[0] : "records");
+		long start = System.nanoTime();
+		long games = 0, actions = 0, draws = 0;
+		long[] wins = new long[4];
+		long[] opcodes = new long[16];
+		for (Path path: listSegments(directory)) {
+			try (RecordReader reader = new RecordReader(path)) {
+				while (reader.next()) {
+					games++;
+					int count = reader.getActionCount();
+					actions += count;
+					short last = reader.getAction(count - 1);
+					if (GameRecord.opcode(last) == GameRecord.WIN)
+						wins[GameRecord.seat(last)]++;
+					else
+						draws++;
+					for (int i = 0; i < count; i++)
+						opcodes[GameRecord.opcode(reader.getAction(i))]++;
+				}
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Games: %d, actions: %d, draws: %d%n", games, actions, draws);
+		for (int i = 0; i < 4; i++)
+			System.out.printf("Seat %d wins: %d%n", i, wins[i]);
+		System.out.printf("KONG: %d, PENG: %d, CHI: %d%n",
+				opcodes[GameRecord.KONG], opcodes[GameRecord.PENG], opcodes[GameRecord.CHI]);
+		System.out.printf("Scanned in %.3f s (%.0f games/sec)%n", seconds, games / seconds);
+	}
+
+	/**	Moves to the next game
+	 * 	@return	whether there was another game
+	 */
+	public boolean next() {
+		//	A game cut off by a crash is left unread
+		if (nextGame + GameRecord.GAME_HEADER_BYTES > buffer.limit())
+			return false;
+		int count = buffer.getShort(nextGame + 8) & 0xFFFF;
+		if (nextGame + GameRecord.GAME_HEADER_BYTES + 2 * count > buffer.limit())
+			return false;
+		game = nextGame;
+		actionCount = count;
+		nextGame = game + GameRecord.GAME_HEADER_BYTES + 2 * count;
+		return true;
+	}
+
+	/**	@return	seed the current game's wall was shuffled with	*/
+	public long getSeed() {
+		return buffer.getLong(game);
+	}
+	/**	@return	number of actions in the current game	*/
+	public int getActionCount() {
+		return actionCount;
+	}
+	/**	@return	an action of the current game
+	 * 	@param	index of the action
+	 */
+	public short getAction(int i) {
+		return buffer.getShort(game + GameRecord.GAME_HEADER_BYTES + 2 * i);
+	}
+	/**	@return	copy of the current game's actions	*/
+	public short[] getActions() {
+		short[] actions = new short[actionCount];
+		for (int i = 0; i < actionCount; i++)
+			actions[i] = getAction(i);
+		return actions;
+	}
+
+	/**	Closes the channel, the mapping is let go when no longer used	*/
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**	@return	segment files in a directory, in the order written
+	 * 	@param	directory of segments
+	 */
+	public static List<Path> listSegments(Path directory) throws IOException {
+		if (!Files.isDirectory(directory))
+			return new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(p -> p.getFileName().toString().matches("games-\\d+\\.mjr"))
+					.sorted().collect(Collectors.toList());
+		}
+	}
+	/**	@return	file name of a segment
+	 * 	@param	number of the segment
+	 */
+	public static String segmentName(int number) {
+		return String.format("games-%06d.mjr", number);
+	}
+	/**	@return	number of a segment
+	 * 	@param	path of the segment
+	 */
+	public static int segmentNumber(Path path) {
+		String name = path.getFileName().toString();
+		return Integer.parseInt(name.substring(6, name.length() - 4));
+	}
+}
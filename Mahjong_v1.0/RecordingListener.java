@@ -0,0 +1,97 @@
+import java.io.*;
+import java.util.*;
+
+/**	RecordingListener class for Mahjong game. Records the moves of a game
+ * 	as actions (see GameRecord), and hands the whole game to a
+ * 	GameRecorder when it ends.
+ * 	A listener can record any number of games one after another, but
+ * 	only one game at a time, so each thread playing games needs its own.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class RecordingListener implements GameListener {
+	//	Most actions in a game: every tile drawn and discarded, with room
+	//	for claims
+	private static final int MAX_ACTIONS = 4 * Wall.SIZE;
+
+	/*	Field variables	*/
+	//	Recorder games are appended to
+	private GameRecorder recorder;
+	//	Seed of the game being recorded
+	private long seed;
+	//	Actions of the game being recorded
+	private short[] actions;
+	private int count;
+	//	Last tile drawn or discarded, the tile a player wins with
+	private Tile lastTile;
+
+	/*	Constructors	*/
+	/**	@param	recorder games are appended to	*/
+	public RecordingListener(GameRecorder recorder) {
+		this.recorder = recorder;
+		actions = new short[MAX_ACTIONS];
+	}
+
+	public void onGameStart(Mahjong game) {
+		seed = game.getSeed();
+		count = 0;
+		lastTile = null;
+	}
+	public void onDraw(Player p, Tile t, boolean fromBack) {
+		add(GameRecord.DRAW, p, t, fromBack ? 1 : 0);
+		lastTile = t;
+	}
+	public void onDiscard(Player p, Tile t) {
+		add(GameRecord.DISCARD, p, t, 0);
+		lastTile = t;
+	}
+	public void onClaim(Player p, TileSet.SET_TYPE type, Tile t) {
+		switch (type) {
+			case KONG:
+				add(GameRecord.KONG, p, t, 0);
+				break;
+			case PENG:
+				add(GameRecord.PENG, p, t, 0);
+				break;
+			case CHI:
+				add(GameRecord.CHI, p, t, chiOffset(p, t));
+				break;
+		}
+	}
+	public void onGameEnd(Player winner) {
+		if (winner == null)
+			actions[count++] = GameRecord.encode(GameRecord.DRAW_GAME, 0, 0, 0);
+		else
+			add(GameRecord.WIN, winner, lastTile, 0);
+		try {
+			recorder.append(seed, actions, count);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**	@return	how far a tile taken for a CHI is above the lowest tile of
+	 * 	the set, read from the last set the player showed
+	 * 	@param	player who just made the CHI
+	 * 	@param	tile taken
+	 */
+	static int chiOffset(Player p, Tile t) {
+		List<TileSet> shown = p.getShown();
+		int lowest = t.getId();
+		for (Tile s: shown.get(shown.size() - 1).getTiles())
+			lowest = Math.min(lowest, s.getId());
+		return t.getId() - lowest;
+	}
+
+	/**	Adds one action to the game
+	 * 	@param	opcode
+	 * 	@param	player making the move
+	 * 	@param	tile of the move
+	 * 	@param	extra bits
+	 */
+	private void add(int opcode, Player p, Tile t, int extra) {
+		actions[count++] = GameRecord.encode(opcode, p.getPlayerNum(), t.getId(), extra);
+	}
+}
@@ -0,0 +1,185 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+/**	RemoteAgent class for Mahjong game. Makes the decisions of a player on
+ * 	the other end of a connection, using the line protocol of NioServer.
+ * 	Each decision is sent as a question line, and the game thread waits
+ * 	until the connection's thread gives the answer with onLine.
+ * 	The agent is also the game's listener, so the player is told about
+ * 	every discard and claim, and their own draws.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class RemoteAgent implements Agent, GameListener {
+	/*	Field variables	*/
+	//	Seat of the remote player
+	private int seat;
+	//	Sends one line to the remote player
+	private Consumer<String> sender;
+	//	Decision waiting for an answer, null if there is none
+	private volatile Decision pending;
+	//	Whether the connection has closed
+	private volatile boolean closed;
+
+	/*	Constructors	*/
+	/**	@param	seat of the remote player
+	 * 	@param	sends one line to the remote player, from any thread
+	 */
+	public RemoteAgent(int seat, Consumer<String> sender) {
+		this.seat = seat;
+		this.sender = sender;
+	}
+
+	/**	Sends a decision as a question and waits for the answer
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		pending = d;
+		if (closed) {
+			d.fail(new IllegalStateException("Connection closed"));
+			return;
+		}
+		//	Show the hand before the player has to choose from it
+		if (d.getType() == Decision.TYPE.DISCARD || d.getType() == Decision.TYPE.WIN)
+			sender.accept(stateLine(d.getPlayer()));
+		sender.accept(questionLine(d));
+		try {
+			d.awaitAnswer();
+		}
+		finally {
+			pending = null;
+		}
+	}
+
+	/**	Takes one line from the remote player as the answer to the
+	 * 	decision waiting. A line that isn't a valid answer is refused and
+	 * 	the question is asked again.
+	 * 	@param	line read, without the line break
+	 */
+	public void onLine(String line) {
+		Decision d = pending;
+		if (d == null || d.isAnswered()) {
+			sender.accept("ERR no question");
+			return;
+		}
+		int answer;
+		try {
+			answer = Integer.parseInt(line.trim());
+		}
+		catch (NumberFormatException e) {
+			answer = Integer.MIN_VALUE;
+		}
+		if (!isValid(d, answer)) {
+			sender.accept("ERR invalid answer");
+			sender.accept(questionLine(d));
+			return;
+		}
+		d.setAnswer(answer);
+	}
+
+	/**	Fails the decision waiting so the game stops, and fails any later
+	 * 	decision
+	 */
+	public void close() {
+		closed = true;
+		Decision d = pending;
+		if (d != null && !d.isAnswered())
+			d.fail(new IllegalStateException("Connection closed"));
+	}
+
+	/**	Checks an answer can be used for a decision
+	 * 	@param	decision being answered
+	 * 	@param	answer given
+	 * 	@return	whether the answer is valid
+	 */
+	private static boolean isValid(Decision d, int answer) {
+		switch (d.getType()) {
+			case WIN:
+			case CLAIM:
+				return answer == 0 || answer == 1;
+			case CHI_OPTION:
+				return answer >= 0 && answer < d.getChiOptions().size();
+			case DISCARD:
+				return answer >= 0 && answer < Tile.NUM_TYPES && d.getPlayer().getCount(answer) > 0;
+		}
+		return false;
+	}
+
+	/**	@return	question line for a decision
+	 * 	@param	decision to ask
+	 */
+	private static String questionLine(Decision d) {
+		switch (d.getType()) {
+			case WIN:
+				return "WIN? " + d.getTile().getId();
+			case CLAIM:
+				return d.getClaimType() + "? " + d.getTile().getId();
+			case CHI_OPTION:
+				StringBuilder sb = new StringBuilder("CHIOPT?");
+				for (TileSet set: d.getChiOptions())
+					sb.append(' ').append(setString(set));
+				return sb.toString();
+			case DISCARD:
+				return "DISCARD? " + (d.getTile() == null ? "-" : d.getTile().getId());
+		}
+		return "";
+	}
+
+	/**	@return	state line with the hand and shown sets of a player
+	 * 	@param	player to show
+	 */
+	private static String stateLine(Player p) {
+		StringBuilder sb = new StringBuilder("STATE ");
+		boolean empty = true;
+		for (int id = 0; id < Tile.NUM_TYPES; id++) {
+			for (int i = 0; i < p.getCount(id); i++) {
+				if (!empty)
+					sb.append(',');
+				sb.append(id);
+				empty = false;
+			}
+		}
+		if (empty)
+			sb.append('-');
+		sb.append(' ');
+		List<TileSet> shown = p.getShown();
+		if (shown.isEmpty())
+			sb.append('-');
+		for (int i = 0; i < shown.size(); i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append(setString(shown.get(i)));
+		}
+		return sb.toString();
+	}
+
+	/**	@return	tile ids of a set joined by dots
+	 * 	@param	set to write
+	 */
+	private static String setString(TileSet set) {
+		StringBuilder sb = new StringBuilder();
+		for (Tile t: set.getTiles()) {
+			if (sb.length() > 0)
+				sb.append('.');
+			sb.append(t.getId());
+		}
+		return sb.toString();
+	}
+
+	/*	Events pushed to the remote player	*/
+	public void onDraw(Player p, Tile t, boolean fromBack) {
+		//	Other players' draws are hidden
+		if (p.getPlayerNum() == seat)
+			sender.accept("DRAW " + t.getId());
+	}
+	public void onDiscard(Player p, Tile t) {
+		sender.accept("DISCARDED " + p.getPlayerNum() + " " + t.getId());
+	}
+	public void onClaim(Player p, TileSet.SET_TYPE type, Tile t) {
+		sender.accept("CLAIMED " + p.getPlayerNum() + " " + type + " " + t.getId());
+	}
+	public void onGameEnd(Player winner) {
+		sender.accept("END " + (winner == null ? -1 : winner.getPlayerNum()));
+	}
+}
@@ -0,0 +1,126 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**	Replay class to play recorded games again through the Mahjong turn
+ * 	logic, headless, with every decision taken from the record (see
+ * 	ReplayAgent). A replay can stop at any turn, leaving the game and its
+ * 	players as they were at that point, to look into a bug report or a
+ * 	bot's decision.
+ * 	Run on a directory of records, it replays every game with the current
+ * 	bots asked each decision too, and reports any game that no longer
+ * 	plays the same and how often the bots now decide differently.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class Replay {
+	//	Most seeds listed for games with differences
+	private static final int MAX_LISTED = 10;
+
+	//	Main method
+	//	Arguments: [directory] [turn to stop at]
+	public static void main(String[] args) throws IOException {
+		Path directory = Paths.get(args.length > 0 ? args[0] : "records");
+		int stopTurn = args.length > 1 ? Integer.parseInt(args[1]) : -1;
+
+		long games = 0, decisions = 0, disagreements = 0, disagreeing = 0, failed = 0;
+		List<String> listed = new ArrayList<>();
+		long start = System.nanoTime();
+		Agent bots = new BotAgent();
+		for (Path path: RecordReader.listSegments(directory)) {
+			try (RecordReader reader = new RecordReader(path)) {
+				while (reader.next()) {
+					games++;
+					ReplayAgent agent = new ReplayAgent(reader.getActions(), Integer.MAX_VALUE, bots);
+					try {
+						replay(reader.getSeed(), agent);
+					}
+					catch (IllegalStateException e) {
+						failed++;
+						if (listed.size() < MAX_LISTED)
+							listed.add("seed " + reader.getSeed() + ": " + e.getMessage());
+					}
+					decisions += agent.getDecisions();
+					disagreements += agent.getDisagreements();
+					if (agent.getDisagreements() > 0) {
+						disagreeing++;
+						if (listed.size() < MAX_LISTED)
+							listed.add("seed " + reader.getSeed() + ": bots decide differently "
+									+ agent.getDisagreements() + " times");
+					}
+				}
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Replayed %d games in %.2f s (%.1f us/game)%n", games, seconds, seconds * 1e6 / games);
+		System.out.printf("Games not matching the record: %d%n", failed);
+		System.out.printf("Bots decide differently in %d games, %d of %d decisions%n",
+				disagreeing, disagreements, decisions);
+		for (String line: listed)
+			System.out.println("  " + line);
+
+		if (stopTurn >= 0)
+			timeStops(directory, stopTurn);
+	}
+
+	/**	Replays every recorded game up to a turn and prints how long it took
+	 * 	@param	directory of records
+	 * 	@param	turn to stop at
+	 */
+	private static void timeStops(Path directory, int stopTurn) throws IOException {
+		long games = 0;
+		long start = System.nanoTime();
+		for (Path path: RecordReader.listSegments(directory)) {
+			try (RecordReader reader = new RecordReader(path)) {
+				while (reader.next()) {
+					replayTo(reader.getSeed(), reader.getActions(), stopTurn);
+					games++;
+				}
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Reached turn %d of %d games in %.1f us/game%n", stopTurn, games, seconds * 1e6 / games);
+	}
+
+	/**	Replays a recorded game up to the first decision of a turn, or to
+	 * 	the end if the game ends first
+	 * 	@param	seed the game's wall was shuffled with
+	 * 	@param	recorded actions
+	 * 	@param	turn to stop at
+	 * 	@return	game as it was at the turn
+	 */
+	public static Mahjong replayTo(long seed, short[] actions, int stopTurn) {
+		return replay(seed, new ReplayAgent(actions, stopTurn, null));
+	}
+
+	/**	Replays a recorded game with a replay agent, until the agent stops
+	 * 	or the game ends.
+	 * 	Bots only offer to claim the tiles their hidden sets need, and
+	 * 	those are only worked out when the bot is asked to discard. So the
+	 * 	seats are the recorded bots when the agent has a shadow asking them
+	 * 	every decision, and plain players otherwise, who are offered every
+	 * 	claim they can make and pass on the ones not in the record.
+	 * 	@param	seed the game's wall was shuffled with
+	 * 	@param	agent replaying the record
+	 * 	@return	game as it was when the replay stopped
+	 */
+	public static Mahjong replay(long seed, ReplayAgent agent) {
+		Mahjong game;
+		if (agent.hasShadow())
+			game = new Mahjong(agent, seed, agent);
+		else {
+			Player[] players = new Player[4];
+			for (int i = 0; i < 4; i++)
+				players[i] = new Player(i);
+			game = new Mahjong(players, new Agent[] {agent, agent, agent, agent}, seed, System.out);
+			game.setHeadless(true);
+			game.setListener(agent);
+		}
+		try {
+			game.play();
+		}
+		catch (ReplayAgent.Stopped e) {}
+		return game;
+	}
+}
@@ -0,0 +1,235 @@
+import java.util.*;
+
+/**	ReplayAgent class for Mahjong game. Makes every decision of a game the
+ * 	way a recorded game made it (see GameRecord), so the game plays out
+ * 	the same as the record. It is also the game's listener, and checks
+ * 	every move against the record, along with the number of tiles each
+ * 	player holds, throwing IllegalStateException at the first move that
+ * 	is different.
+ * 	A shadow agent, such as a BotAgent, can be asked every decision as
+ * 	well. Its answers are only counted when they differ from the record,
+ * 	but asking it keeps bots in the same state as in the recorded game,
+ * 	and shows where bot code has changed how it plays.
+ * 	The replay can stop at the first decision of any turn, leaving the
+ * 	game as it was at that point.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class ReplayAgent implements Agent, GameListener {
+	/*	Field variables	*/
+	//	Recorded actions
+	private short[] actions;
+	//	Index of the next action to happen
+	private int cursor;
+	//	Turn to stop at
+	private int stopTurn;
+	//	Agent also asked every decision, null if none
+	private Agent shadow;
+	//	Number of decisions, and decisions the shadow answered differently
+	private int decisions;
+	private int disagreements;
+	//	Last tile drawn or discarded, the tile a player wins with
+	private Tile lastTile;
+
+	/*	Constructors	*/
+	/**	Agent replaying a whole game
+	 * 	@param	recorded actions
+	 */
+	public ReplayAgent(short[] actions) {
+		this(actions, Integer.MAX_VALUE, null);
+	}
+	/**	@param	recorded actions
+	 * 	@param	turn to stop at
+	 * 	@param	agent also asked every decision, null if none
+	 */
+	public ReplayAgent(short[] actions, int stopTurn, Agent shadow) {
+		this.actions = actions;
+		this.stopTurn = stopTurn;
+		this.shadow = shadow;
+	}
+
+	/**	Answers a decision the way the record did
+	 * 	@param	decision to answer
+	 */
+	public void decide(Decision d) {
+		if (d.getGame() != null && d.getGame().getTurnCount() >= stopTurn)
+			throw Stopped.STOPPED;
+		int answer = recordedAnswer(d);
+		decisions++;
+		if (shadow != null) {
+			Decision copy = new Decision(d.getGame(), d.getType(), d.getPlayer(), d.getTile(),
+					d.getClaimType(), d.getChiOptions());
+			shadow.decide(copy);
+			if (copy.getAnswer() != answer)
+				disagreements++;
+		}
+		d.setAnswer(answer);
+	}
+
+	/**	@return	answer the record gave to a decision
+	 * 	@param	decision to answer
+	 */
+	private int recordedAnswer(Decision d) {
+		int seat = d.getPlayer().getPlayerNum();
+		int tile = d.getTile() == null ? -1 : d.getTile().getId();
+		short next = peek();
+		switch (d.getType()) {
+			case WIN:
+				//	Win with a discard, or draw the tile then win
+				if (isAction(next, GameRecord.WIN, seat, tile))
+					return 1;
+				if (isAction(next, GameRecord.DRAW, seat, tile) && cursor + 1 < actions.length
+						&& isAction(actions[cursor + 1], GameRecord.WIN, seat, tile))
+					return 1;
+				return 0;
+			case CLAIM:
+				return isAction(next, opcodeOf(d.getClaimType()), seat, tile) ? 1 : 0;
+			case CHI_OPTION:
+				if (isAction(next, GameRecord.CHI, seat, tile)) {
+					int lowest = tile - GameRecord.extra(next);
+					List<TileSet> options = d.getChiOptions();
+					for (int i = 0; i < options.size(); i++) {
+						int min = tile;
+						for (Tile t: options.get(i).getTiles())
+							min = Math.min(min, t.getId());
+						if (min == lowest)
+							return i;
+					}
+				}
+				throw diverged("a CHI option for player " + seat);
+			case DISCARD:
+				if (GameRecord.opcode(next) == GameRecord.DISCARD && GameRecord.seat(next) == seat
+						&& d.getPlayer().getCount(GameRecord.tile(next)) > 0)
+					return GameRecord.tile(next);
+				throw diverged("a discard from player " + seat);
+		}
+		throw diverged(d.getType().toString());
+	}
+
+	/*	Moves checked against the record	*/
+	public void onDraw(Player p, Tile t, boolean fromBack) {
+		expect(GameRecord.DRAW, p, t, fromBack ? 1 : 0);
+		checkTiles(p, 14);
+		lastTile = t;
+	}
+	public void onDiscard(Player p, Tile t) {
+		expect(GameRecord.DISCARD, p, t, 0);
+		checkTiles(p, 13);
+		lastTile = t;
+	}
+	public void onClaim(Player p, TileSet.SET_TYPE type, Tile t) {
+		if (type == TileSet.SET_TYPE.CHI)
+			expect(GameRecord.CHI, p, t, RecordingListener.chiOffset(p, t));
+		else
+			expect(opcodeOf(type), p, t, 0);
+		//	A KONG still needs its replacement tile
+		checkTiles(p, type == TileSet.SET_TYPE.KONG ? 13 : 14);
+	}
+	public void onGameEnd(Player winner) {
+		if (winner == null) {
+			if (GameRecord.opcode(peek()) != GameRecord.DRAW_GAME)
+				throw diverged("a draw game");
+			cursor++;
+		}
+		else
+			expect(GameRecord.WIN, winner, lastTile, 0);
+		if (cursor != actions.length)
+			throw diverged("the end of the game");
+	}
+
+	/**	Checks the next action is a move, and moves past it
+	 * 	@param	opcode of the move
+	 * 	@param	player making the move
+	 * 	@param	tile of the move
+	 * 	@param	extra bits of the move
+	 */
+	private void expect(int opcode, Player p, Tile t, int extra) {
+		short move = GameRecord.encode(opcode, p.getPlayerNum(), t.getId(), extra);
+		if (peek() != move)
+			throw diverged(GameRecord.toString(move));
+		cursor++;
+	}
+
+	/**	Checks a player holds the right number of tiles, counting each
+	 * 	shown set as 3
+	 * 	@param	player to check
+	 * 	@param	number of tiles
+	 */
+	private void checkTiles(Player p, int tiles) {
+		int held = p.getHandSize() + 3 * p.getShown().size();
+		if (held != tiles)
+			throw new IllegalStateException("Player " + p.getPlayerNum() + " holds " + held
+					+ " tiles instead of " + tiles + " after action " + (cursor - 1));
+	}
+
+	/**	@return	next recorded action, or 0 if there are none left	*/
+	private short peek() {
+		return cursor < actions.length ? actions[cursor] : 0;
+	}
+
+	/**	@return	whether an action is a move by a seat with a tile
+	 * 	@param	action
+	 * 	@param	opcode of the move
+	 * 	@param	seat making the move
+	 * 	@param	tile of the move
+	 */
+	private static boolean isAction(short action, int opcode, int seat, int tile) {
+		return GameRecord.opcode(action) == opcode && GameRecord.seat(action) == seat
+				&& GameRecord.tile(action) == tile;
+	}
+
+	/**	@return	opcode of a set type
+	 * 	@param	type of set
+	 */
+	private static int opcodeOf(TileSet.SET_TYPE type) {
+		switch (type) {
+			case KONG:
+				return GameRecord.KONG;
+			case PENG:
+				return GameRecord.PENG;
+			default:
+				return GameRecord.CHI;
+		}
+	}
+
+	/**	@return	error for a game that no longer matches the record
+	 * 	@param	what the game did
+	 */
+	private IllegalStateException diverged(String found) {
+		String expected = cursor < actions.length ? GameRecord.toString(actions[cursor]) : "nothing";
+		return new IllegalStateException("Replay differs at action " + cursor + ": recorded "
+				+ expected + ", game made " + found);
+	}
+
+	/**	@return	whether a shadow agent is asked every decision	*/
+	public boolean hasShadow() {
+		return shadow != null;
+	}
+	/**	@return	number of actions replayed so far	*/
+	public int getCursor() {
+		return cursor;
+	}
+	/**	@return	number of decisions answered	*/
+	public int getDecisions() {
+		return decisions;
+	}
+	/**	@return	number of decisions the shadow agent answered differently	*/
+	public int getDisagreements() {
+		return disagreements;
+	}
+
+	/**	Thrown through the game to stop the replay at a turn. It has no
+	 * 	stack trace, so stopping costs almost nothing.
+	 */
+	public static class Stopped extends RuntimeException {
+		//	Version of the serialized form
+		private static final long serialVersionUID = 1L;
+		//	The only instance
+		static final Stopped STOPPED = new Stopped();
+
+		private Stopped() {
+			super("Replay stopped", null, false, false);
+		}
+	}
+}
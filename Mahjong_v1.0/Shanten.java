@@ -0,0 +1,236 @@
+/**	Shanten class for Mahjong game, to find how far a hand is from ready.
+ * 	The shanten of a hand is the number of tiles that have to be swapped
+ * 	before the hand is ready (one tile away from winning). A ready hand has
+ * 	a shanten of 0, and a winning hand has a shanten of -1.
+ *
+ * 	A hand is split into sets (3 of a kind or sequences), partial sets
+ * 	(pairs, or 2 tiles of a sequence missing one tile), and a pair. With m
+ * 	sets, t partial sets and p pairs (0 or 1), the shanten is
+ * 	8 - 2m - t - p, counting at most 4 sets and partial sets together.
+ *
+ * 	Like HandSuit, each suit is encoded as a base 5 key of its counts. For
+ * 	every key, a table built when the class loads holds the best value of
+ * 	2m + t for each number of sets and partial sets the suit may use, with
+ * 	and without the pair. Finding the shanten of a hand only looks up the
+ * 	4 suits and adds up the best split of sets between them.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class Shanten {
+	//	Most sets and partial sets counted in a hand
+	public static final int MAX_SETS = 4;
+	//	Number of possible honor keys (5^7)
+	private static final int HONOR_KEY_COUNT = 78125;
+
+	//	Each table entry packs, for k = 1-4 sets and partial sets, the best
+	//	2m + t without a pair in 4 bits each (bits 0-15), then for k = 0-4
+	//	one bit for whether the pair adds 1 to that (bits 16-20)
+	private static final int[] SUIT_TABLE = buildTable(9, HandSuit.KEY_COUNT, true);
+	private static final int[] HONOR_TABLE = buildTable(7, HONOR_KEY_COUNT, false);
+
+	/**	Fills a table in increasing key order. The lowest tile of a key is
+	 * 	either left over, or the lowest tile of a set, partial set, or the
+	 * 	pair, and the rest of the key is a smaller key already in the table.
+	 * 	Only keys with 14 tiles or less are filled.
+	 * 	@param	number of values in the suit
+	 * 	@param	number of keys
+	 * 	@param	whether the suit has sequences
+	 * 	@return	table of packed entries
+	 */
+	private static int[] buildTable(int size, int keyCount, boolean sequences) {
+		int[] table = new int[keyCount];
+		//	Counts of the current key and their total
+		int[] digits = new int[size];
+		int total = 0;
+		//	Best values of the current key without and with the pair
+		int[] best = new int[MAX_SETS + 1];
+		int[] bestPair = new int[MAX_SETS + 1];
+		for (int key = 1; key < keyCount; key++) {
+			//	Count up to the next key
+			int d = 0;
+			while (digits[d] == 4) {
+				digits[d] = 0;
+				total -= 4;
+				d++;
+			}
+			digits[d]++;
+			total++;
+			if (total > 14)
+				continue;
+
+			//	Find lowest value in the key
+			int i = 0;
+			while (digits[i] == 0)
+				i++;
+			int count = digits[i];
+
+			//	Lowest tile is left over
+			int rest = table[key - HandSuit.POW5[i]];
+			for (int k = 0; k <= MAX_SETS; k++) {
+				best[k] = value(rest, k);
+				bestPair[k] = valuePair(rest, k);
+			}
+			//	Lowest tile starts a 3 of a kind
+			if (count >= 3)
+				useGroup(table[key - 3 * HandSuit.POW5[i]], 2, best, bestPair);
+			//	Lowest tile starts a sequence
+			if (sequences && i + 2 < size && digits[i + 1] > 0 && digits[i + 2] > 0)
+				useGroup(table[key - HandSuit.POW5[i] - HandSuit.POW5[i + 1] -
+						HandSuit.POW5[i + 2]], 2, best, bestPair);
+			//	Lowest tile starts a pair, used as a partial set or as the pair
+			if (count >= 2) {
+				rest = table[key - 2 * HandSuit.POW5[i]];
+				useGroup(rest, 1, best, bestPair);
+				for (int k = 0; k <= MAX_SETS; k++)
+					bestPair[k] = Math.max(bestPair[k], value(rest, k) + 1);
+			}
+			//	Lowest tile starts a partial sequence missing the end or middle
+			if (sequences && i + 1 < size && digits[i + 1] > 0)
+				useGroup(table[key - HandSuit.POW5[i] - HandSuit.POW5[i + 1]], 1, best, bestPair);
+			if (sequences && i + 2 < size && digits[i + 2] > 0)
+				useGroup(table[key - HandSuit.POW5[i] - HandSuit.POW5[i + 2]], 1, best, bestPair);
+
+			//	Pack the entry
+			int entry = 0;
+			for (int k = 1; k <= MAX_SETS; k++)
+				entry |= best[k] << (4 * (k - 1));
+			for (int k = 0; k <= MAX_SETS; k++)
+				if (bestPair[k] > best[k])
+					entry |= 1 << (16 + k);
+			table[key] = entry;
+		}
+		return table;
+	}
+
+	/**	Updates best values with a group that uses up one of the sets and
+	 * 	partial sets
+	 * 	@param	entry of the rest of the key
+	 * 	@param	value of the group, 2 for a set and 1 for a partial set
+	 * 	@param	best values without the pair to update
+	 * 	@param	best values with the pair to update
+	 */
+	private static void useGroup(int rest, int groupValue, int[] best, int[] bestPair) {
+		for (int k = 1; k <= MAX_SETS; k++) {
+			best[k] = Math.max(best[k], value(rest, k - 1) + groupValue);
+			bestPair[k] = Math.max(bestPair[k], valuePair(rest, k - 1) + groupValue);
+		}
+	}
+
+	/**	@return	best 2m + t of an entry without the pair, using k groups	*/
+	private static int value(int entry, int k) {
+		return k == 0 ? 0 : (entry >>> (4 * (k - 1))) & 15;
+	}
+	/**	@return	best 2m + t + p of an entry, using k groups	*/
+	private static int valuePair(int entry, int k) {
+		return value(entry, k) + ((entry >>> (16 + k)) & 1);
+	}
+
+	/**	Encodes one suit of a hand as a key
+	 * 	@param	count of each tile by tile id
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 * 	@return	base 5 key of the suit
+	 */
+	public static int suitKey(int[] counts, int suit) {
+		int key = 0;
+		int size = suit == 3 ? 7 : 9;
+		for (int i = 0; i < size; i++)
+			key += counts[suit * 9 + i] * HandSuit.POW5[i];
+		return key;
+	}
+
+	/**	Looks up the table entry of a suit key
+	 * 	@param	suit as an ordinal of Tile.SUIT
+	 * 	@param	key of the suit
+	 * 	@return	packed table entry
+	 */
+	public static int entry(int suit, int key) {
+		return suit == 3 ? HONOR_TABLE[key] : SUIT_TABLE[key];
+	}
+
+	/**	Adds up the entries of the 4 suits, splitting the sets and partial
+	 * 	sets left between them in the best way
+	 * 	@param	entries of each suit
+	 * 	@param	number of sets already shown
+	 * 	@return	shanten of the hand
+	 */
+	public static int combine(int e0, int e1, int e2, int e3, int shownSets) {
+		int budget = getBudget(shownSets);
+		//	Best values using k groups so far, without and with the pair
+		int[] best = new int[MAX_SETS + 1];
+		int[] bestPair = new int[MAX_SETS + 1];
+		startSuits(e0, budget, best, bestPair);
+		combineSuit(e1, budget, best, bestPair);
+		combineSuit(e2, budget, best, bestPair);
+		return finishSuits(e3, budget, best, bestPair);
+	}
+
+	/*	Suits can also be combined one at a time, so suits that stay the
+	 * 	same while another changes are only combined once	*/
+	/**	@return	most sets and partial sets the hidden tiles may use
+	 * 	@param	number of sets already shown
+	 */
+	public static int getBudget(int shownSets) {
+		return Math.max(0, MAX_SETS - shownSets);
+	}
+	/**	Fills the best values with the first suit
+	 * 	@param	entry of the suit
+	 * 	@param	most groups to use
+	 * 	@param	best values without the pair to fill
+	 * 	@param	best values with the pair to fill
+	 */
+	public static void startSuits(int entry, int budget, int[] best, int[] bestPair) {
+		for (int k = 0; k <= budget; k++) {
+			best[k] = value(entry, k);
+			bestPair[k] = valuePair(entry, k);
+		}
+	}
+	/**	Finds the shanten of the suits combined so far with one last suit,
+	 * 	leaving the best values as they are
+	 * 	@param	entry of the last suit
+	 * 	@param	most groups to use
+	 * 	@param	best values without the pair
+	 * 	@param	best values with the pair
+	 * 	@return	shanten of the hand
+	 */
+	public static int finishSuits(int entry, int budget, int[] best, int[] bestPair) {
+		int b = 0;
+		for (int j = 0; j <= budget; j++) {
+			int v = value(entry, j);
+			b = Math.max(b, Math.max(best[budget - j], bestPair[budget - j]) + v);
+			b = Math.max(b, best[budget - j] + v + ((entry >>> (16 + j)) & 1));
+		}
+		return 8 - 2 * (MAX_SETS - budget) - b;
+	}
+
+	/**	Adds one suit to the best values of the suits before it
+	 * 	@param	entry of the suit
+	 * 	@param	most groups to use
+	 * 	@param	best values without the pair to update
+	 * 	@param	best values with the pair to update
+	 */
+	public static void combineSuit(int entry, int budget, int[] best, int[] bestPair) {
+		//	Go from high k down so lower values are still from earlier suits
+		for (int k = budget; k >= 0; k--) {
+			int b = 0;
+			int bp = 0;
+			for (int j = 0; j <= k; j++) {
+				b = Math.max(b, best[k - j] + value(entry, j));
+				bp = Math.max(bp, Math.max(bestPair[k - j] + value(entry, j),
+						best[k - j] + valuePair(entry, j)));
+			}
+			best[k] = b;
+			bestPair[k] = bp;
+		}
+	}
+
+	/**	Finds the shanten of a hand
+	 * 	@param	count of each tile in hand by tile id
+	 * 	@param	number of sets already shown
+	 * 	@return	tiles to swap to be ready, 0 if ready, -1 if winning
+	 */
+	public static int shanten(int[] counts, int shownSets) {
+		return combine(entry(0, suitKey(counts, 0)), entry(1, suitKey(counts, 1)),
+				entry(2, suitKey(counts, 2)), entry(3, suitKey(counts, 3)), shownSets);
+	}
+}
@@ -10,16 +10,16 @@ public class Tester {
 	public static void main(String[] args) {
 		/**	Test for too many incomlete hands	*/
 		Player p5 = new Bot(1);
-		p5.draw(new Tile("TONG1"));
-		p5.draw(new Tile("TONG1"));
-		p5.draw(new Tile("TONG2"));
-		p5.draw(new Tile("TONG2"));
-		p5.draw(new Tile("TONG3"));
-		p5.draw(new Tile("TONG3"));
-		p5.draw(new Tile("TONG4"));
-		p5.draw(new Tile("TONG4"));
-		p5.draw(new Tile("TONG5"));
-		p5.draw(new Tile("TONG5"));
+		p5.draw(Tile.of("TONG1"));
+		p5.draw(Tile.of("TONG1"));
+		p5.draw(Tile.of("TONG2"));
+		p5.draw(Tile.of("TONG2"));
+		p5.draw(Tile.of("TONG3"));
+		p5.draw(Tile.of("TONG3"));
+		p5.draw(Tile.of("TONG4"));
+		p5.draw(Tile.of("TONG4"));
+		p5.draw(Tile.of("TONG5"));
+		p5.draw(Tile.of("TONG5"));
 		p5.hiddenChi();
 		System.out.println("Hidden:");
 		p5.printHidden();
@@ -28,18 +28,49 @@ public class Tester {
 		System.out.println("Junk:");
 		p5.printJunk();
 		
+		/*	Test saving and loading a game state
+		Mahjong game = new Mahjong(GameListener.NONE, 42);
+		game.play();
+		GameState saved = new GameState();
+		game.saveTo(saved);
+		Mahjong other = new Mahjong(GameListener.NONE, 7);
+		other.loadFrom(saved);
+		System.out.println(other.getTurnCount() == game.getTurnCount());
+		System.out.println(other.getWall().remaining() == game.getWall().remaining());
+		for (int i = 0; i < 4; i++) {
+			System.out.println(other.getPlayer(i).getHandList().equals(game.getPlayer(i).getHandList()));
+			System.out.println(other.getPlayer(i).getShownSize() == game.getPlayer(i).getShownSize());
+		}
+		GameState copy = new GameState();
+		saved.copyInto(copy);
+		System.out.println(copy.getHandSize(0) == saved.getHandSize(0));
+		*/
+
+		//	Test wall draws from front and back
+		Wall wall = new Wall(42);
+		Tile first = Tile.fromId(wall.getId(0));
+		Tile last = Tile.fromId(wall.getId(Wall.SIZE - 1));
+		System.out.println(first.equals(wall.draw()));
+		System.out.println(last.equals(wall.drawReplacement()));
+		System.out.println(wall.remaining() == Wall.SIZE - 2);
+		while (!wall.isEmpty())
+			wall.draw();
+		System.out.println(wall.draw() == null && wall.drawReplacement() == null);
+		wall.reset(42);
+		System.out.println(first.equals(wall.draw()));
+		
 		/**	Test bot hidden hands
 		Player p4 = new Bot(0);
-		p4.draw(new Tile(Tile.SUIT.WAN, 3));
-		p4.draw(new Tile(Tile.SUIT.WAN, 3));
-		p4.draw(new Tile(Tile.SUIT.WAN, 3));
-		p4.draw(new Tile(Tile.SUIT.WAN, 1));
-		p4.draw(new Tile(Tile.SUIT.WAN, 1));
+		p4.draw(Tile.of(Tile.SUIT.WAN, 3));
+		p4.draw(Tile.of(Tile.SUIT.WAN, 3));
+		p4.draw(Tile.of(Tile.SUIT.WAN, 3));
+		p4.draw(Tile.of(Tile.SUIT.WAN, 1));
+		p4.draw(Tile.of(Tile.SUIT.WAN, 1));
 		p4.hiddenPeng();
-		p4.peng(new Tile(Tile.SUIT.WAN, 1));
-		p4.draw(new Tile("SPEC1"));
-		p4.draw(new Tile("SPEC1"));
-		p4.peng(new Tile("SPEC1"));
+		p4.peng(Tile.of(Tile.SUIT.WAN, 1));
+		p4.draw(Tile.of("SPEC1"));
+		p4.draw(Tile.of("SPEC1"));
+		p4.peng(Tile.of("SPEC1"));
 		System.out.println("Hidden:");
 		p4.printHidden();
 		System.out.println("Shown:");
@@ -48,45 +79,47 @@ public class Tester {
 		
 		/*	Test discard 
 		Player p3 = new Player(3, false);
-		p3.draw(new Tile(Tile.SUIT.WAN, 1));
-		p3.draw(new Tile(Tile.SUIT.WAN, 2));
-		p3.draw(new Tile(Tile.SUIT.WAN, 3));
-		p3.draw(new Tile(Tile.SUIT.WAN, 4));
-		p3.draw(new Tile(Tile.SUIT.WAN, 5));
-		p3.draw(new Tile(Tile.SUIT.WAN, 6));
-		p3.draw(new Tile(Tile.SUIT.WAN, 7));
-		p3.draw(new Tile(Tile.SUIT.WAN, 8));
-		p3.draw(new Tile(Tile.SUIT.WAN, 8));
-		p3.draw(new Tile(Tile.SUIT.WAN, 9));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 1));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 2));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 3));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 4));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 5));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 6));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 7));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 8));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 8));
+		p3.draw(Tile.of(Tile.SUIT.WAN, 9));
 		
-		p3.discard().print();
+		Decision d = new Decision(null, Decision.TYPE.DISCARD, p3, null);
+		new ConsoleAgent().decide(d);
+		p3.discard(Tile.fromId(d.getAnswer())).print();
 		p3.printHand();
 		*/
 		
 		/*	Test Kong and CHI methods
 		Player p2 = new Player(2, false);
-		p2.draw(new Tile(Tile.SUIT.WAN, 4));
-		p2.draw(new Tile(Tile.SUIT.TIAO, 5));
-		p2.draw(new Tile(Tile.SUIT.WAN, 3));
-		p2.draw(new Tile(Tile.SUIT.WAN, 4));
-		p2.draw(new Tile(Tile.SUIT.WAN, 5));
-		p2.draw(new Tile(Tile.SUIT.WAN, 6));
-		p2.draw(new Tile(Tile.SUIT.SPEC, 1));
-		p2.draw(new Tile(Tile.SUIT.SPEC, 1));
-		p2.draw(new Tile(Tile.SUIT.SPEC, 1));
-		p2.draw(new Tile(Tile.SUIT.TIAO, 2));
-		p2.draw(new Tile(Tile.SUIT.TONG, 4));
+		p2.draw(Tile.of(Tile.SUIT.WAN, 4));
+		p2.draw(Tile.of(Tile.SUIT.TIAO, 5));
+		p2.draw(Tile.of(Tile.SUIT.WAN, 3));
+		p2.draw(Tile.of(Tile.SUIT.WAN, 4));
+		p2.draw(Tile.of(Tile.SUIT.WAN, 5));
+		p2.draw(Tile.of(Tile.SUIT.WAN, 6));
+		p2.draw(Tile.of(Tile.SUIT.SPEC, 1));
+		p2.draw(Tile.of(Tile.SUIT.SPEC, 1));
+		p2.draw(Tile.of(Tile.SUIT.SPEC, 1));
+		p2.draw(Tile.of(Tile.SUIT.TIAO, 2));
+		p2.draw(Tile.of(Tile.SUIT.TONG, 4));
 
-		System.out.println(p2.canChi(new Tile("WAN7")));
-		System.out.println(p2.canChi(new Tile("WAN6")));
-		System.out.println(p2.canChi(new Tile("WAN5")));
-		System.out.println(p2.canChi(new Tile("WAN4")));
-		System.out.println(p2.canChi(new Tile("WAN3")));
-		System.out.println(p2.canChi(new Tile("WAN2")));
-		System.out.println(p2.canChi(new Tile("WAN1")));
+		System.out.println(p2.canChi(Tile.of("WAN7")));
+		System.out.println(p2.canChi(Tile.of("WAN6")));
+		System.out.println(p2.canChi(Tile.of("WAN5")));
+		System.out.println(p2.canChi(Tile.of("WAN4")));
+		System.out.println(p2.canChi(Tile.of("WAN3")));
+		System.out.println(p2.canChi(Tile.of("WAN2")));
+		System.out.println(p2.canChi(Tile.of("WAN1")));
 		
-		p2.kong(new Tile("SPEC1"));
-		p2.chi(new Tile("WAN5"));
+		p2.kong(Tile.of("SPEC1"));
+		p2.chi(Tile.of("WAN5"));
 		p2.printShown();
 		p2.printHand();
 		*/
@@ -94,34 +127,34 @@ public class Tester {
 		
 		/*	Test player hasWon() method
 		Player p1 = new Player(1, false);
-		p1.draw(new Tile(Tile.SUIT.TONG, 1));
-		p1.draw(new Tile(Tile.SUIT.TONG, 2));
-		p1.draw(new Tile(Tile.SUIT.TONG, 3));
-		p1.draw(new Tile(Tile.SUIT.TONG, 7));
-		p1.draw(new Tile(Tile.SUIT.TIAO, 5));
-		p1.draw(new Tile(Tile.SUIT.TIAO, 5));
-		p1.draw(new Tile(Tile.SUIT.TONG, 7));
-		p1.draw(new Tile(Tile.SUIT.TONG, 7));
-		p1.draw(new Tile(Tile.SUIT.SPEC, 4));
-		p1.draw(new Tile(Tile.SUIT.SPEC, 4));
-		p1.draw(new Tile(Tile.SUIT.SPEC, 4));
-		p1.draw(new Tile(Tile.SUIT.WAN, 8));
-		p1.draw(new Tile(Tile.SUIT.WAN, 9));
-		p1.draw(new Tile(Tile.SUIT.WAN, 7));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 1));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 2));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 3));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 7));
+		p1.draw(Tile.of(Tile.SUIT.TIAO, 5));
+		p1.draw(Tile.of(Tile.SUIT.TIAO, 5));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 7));
+		p1.draw(Tile.of(Tile.SUIT.TONG, 7));
+		p1.draw(Tile.of(Tile.SUIT.SPEC, 4));
+		p1.draw(Tile.of(Tile.SUIT.SPEC, 4));
+		p1.draw(Tile.of(Tile.SUIT.SPEC, 4));
+		p1.draw(Tile.of(Tile.SUIT.WAN, 8));
+		p1.draw(Tile.of(Tile.SUIT.WAN, 9));
+		p1.draw(Tile.of(Tile.SUIT.WAN, 7));
 		
 		System.out.print(p1.hasWon());
 		*/
 		
 		/*	Test handsuit isWinning() method
 		Queue<Tile> hand1 = new PriorityQueue<>(new TileComparator());
-		hand1.add(new Tile(Tile.SUIT.TONG, 1));
-		hand1.add(new Tile(Tile.SUIT.TONG, 2));
-		hand1.add(new Tile(Tile.SUIT.TONG, 3));
-		hand1.add(new Tile(Tile.SUIT.TONG, 5));
-		hand1.add(new Tile(Tile.SUIT.TONG, 5));
-		hand1.add(new Tile(Tile.SUIT.TONG, 7));
-		hand1.add(new Tile(Tile.SUIT.TONG, 7));
-		hand1.add(new Tile(Tile.SUIT.TONG, 7));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 1));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 2));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 3));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 5));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 5));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 7));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 7));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 7));
 		
 		HandSuit test1 = new HandSuit(hand1, Tile.SUIT.TONG);
 		System.out.println(test1.isWinning(true));
@@ -140,8 +173,8 @@ public class Tester {
 		System.out.println(test3.isWinning(true));
 		
 		Queue<Tile> hand2 = new PriorityQueue<>(new TileComparator());
-		hand1.add(new Tile(Tile.SUIT.TONG, 7));
-		hand1.add(new Tile(Tile.SUIT.TONG, 7));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 7));
+		hand1.add(Tile.of(Tile.SUIT.TONG, 7));
 		HandSuit test4 = new HandSuit(hand2, Tile.SUIT.TONG);
 		System.out.println(test4.isWinning(true));
 		*/
@@ -1,8 +1,9 @@
+import java.io.PrintStream;
 import java.util.*;
 
-/**	Tile class for Mahjong game. Each Tile object represents a tile in the
- * 	mahjong game tiles with the same value or suit aren't the same tile
- * 	object since there will be multiple of them.
+/**	Tile class for Mahjong game. Each Tile object represents one of the 34
+ * 	types of tile in the mahjong game. Tiles are immutable, so all 4 copies
+ * 	of a tile share the same Tile object, which is looked up with of().
  * 	
  * 	@author Charles Chang
  * 	@since	22 September 2024
@@ -12,52 +13,56 @@ public class Tile {
 	public static enum SUIT {TONG, TIAO, WAN, SPEC};
 	//	Turn value of special suit into wind or dragon
 	public static final String[] SPEC_TYPES = new String[]{"N", "E", "S", "W", "R", "G", "B"};
+	//	Number of different tiles (3 suits of 9 and 7 honors)
+	public static final int NUM_TYPES = 34;
 	
 	/*	Field variables		*/
 	//	Suit of tile object
-	private SUIT suit;
+	private final SUIT suit;
 	//	Value ot tile object (type of honor if suit is special)
-	private int value;
+	private final int value;
+	//	Id of tile from 0-33, the index of this tile in TILES
+	private final int id;
+	//	Tile in key format (suit + value)
+	private final String key;
+	//	The 5 rows of the tile's picture, built once
+	private final String[] rows;
+	
+	//	The only Tile objects, one for each id
+	private static final Tile[] TILES = new Tile[NUM_TYPES];
+	//	Tiles by key String
+	private static final Map<String, Tile> KEYS = new HashMap<>();
+	static {
+		for (int id = 0; id < NUM_TYPES; id++) {
+			TILES[id] = new Tile(SUIT.values()[id / 9], id % 9 + 1);
+			KEYS.put(TILES[id].key, TILES[id]);
+		}
+	}
 	
 	/*	Constructors	*/
-	/**	Creates new Tile from suit and value
+	/**	Creates new Tile from suit and value, only called to fill TILES
 	 * 	@param	suit	type of suit of the tile
 	 * 	@param	value	value of tile or type of SPEC between 1-9 and
 	 * 					and 1-7 respectiveley
 	 */
-	public Tile(SUIT suit, int value) {
+	private Tile(SUIT suit, int value) {
 		this.suit = suit;
 		this.value = value;
-	}
-	/**	Creates new Tile from key String (suit + value)
-	 * 	@param	key		String in valid form suit + value
-	 */
-	public Tile(String key) {
-		//	Breeak key into suit and value
-		String s = key.substring(0, key.length() - 1);
-		//	Assign Suit from String
-		switch (s) {
-			case "TONG": 	this.suit = SUIT.TONG;	break;
-			case "TIAO": 	this.suit = SUIT.TIAO;	break;
-			case "WAN":		this.suit = SUIT.WAN;	break;
-			case "SPEC":	this.suit = SUIT.SPEC;	break;
-		}
-		//	Assign value from last char
-		this.value = Integer.parseInt(key.substring(key.length() - 1));
-	}
-	/**	Copy constructor
-	 * 	@param	Tile to copy
-	 */
-	public Tile(Tile other) {
-		this.suit = other.suit;
-		this.value = other.value;
+		this.id = suit.ordinal() * 9 + value - 1;
+		this.key = "" + suit + value;
+		//	Top shows the value, whitespace if SPEC, bottom shows the type of
+		//	SPEC, or a symbol for the suit: O for TONG, | for TIAO, K for WAN
+		String num = suit == SUIT.SPEC ? " " : String.valueOf(value);
+		String word = suit == SUIT.SPEC ? SPEC_TYPES[value - 1] : suit == SUIT.TONG ? "O"
+				: suit == SUIT.TIAO ? "|" : "K";
+		rows = new String[] {"+-----+", "|  " + num + "  |", "|     |", "|  " + word + "  |", "+-----+"};
 	}
 	
-	/**	Clone this tile
-	 * 	@return	cloned tile
+	/**	Tiles are immutable, so a clone is the same tile
+	 * 	@return	this tile
 	 */
 	public Tile clone() {
-		return new Tile(this);
+		return this;
 	}
 	
 	/*	Accessor Methods	*/
@@ -70,9 +75,16 @@ public class Tile {
 		return value;
 	}
 	
+	/**	@return	int		id of this type of tile from 0-33, ordered the same
+	 * 					as TileComparator
+	 */
+	public int getId() {
+		return id;
+	}
+	
 	/**	@return	String	Tile in key format*/
 	public String getKey() {
-		return "" + suit + value;
+		return key;
 	}
 	/**	overrides default toString with getKey method
 	 * 	@return	String	Tile in ket format
@@ -85,66 +97,38 @@ public class Tile {
 	/*	Print Methods	*/
 	/**	Prints the entire tile */
 	public void print() {
-		//	Top word
-		String num = "";
-		//	Bottom word
-		String word = "";
-		//	Handle special suits
-		if (suit == SUIT.SPEC) {
-			num = " ";
-			word = SPEC_TYPES[value - 1];
-		}
-		//	Handle normal tiles
-		else {
-			num = String.valueOf(value);
-			switch(suit) {
-				case SUIT.TONG: word = "O";	break;
-				case SUIT.TIAO: word = "|";	break;
-				case SUIT.WAN: word = "K";	break;
-			}
-		}
-		System.out.println("+-----+");
-		System.out.println("|  " + num + "  |");
-		System.out.println("|     |");
-		System.out.println("|  " + word + "  |");
-		System.out.println("+-----+");
+		print(System.out);
+	}
+	/**	Prints the entire tile to a stream
+	 * 	@param	stream to print to
+	 */
+	public void print(PrintStream out) {
+		new TileRenderer().tile(this).flush(out);
 	}
 	
 	/**	Prints the given layer of a tile
 	 * 	@param	layer of tile to print
 	 */
 	public void print(int row) {
-		//	Prints hard coded layer based off row
-		switch (row) {
-			//	First layer and last layer are same
-			case 1:	case 5:	System.out.print("+-----+");	break;
-			//	Second layer - get num then print it in format, whitespace if SPEC
-			case 2: String num = (suit == SUIT.SPEC) ? " " : String.valueOf(value);
-					System.out.print("|  " + num + "  |");	break;
-			//	Third layer
-			case 3:	System.out.print("|     |");	break;
-			//	Fourth layer
-			case 4:	
-				//	If suit is special, print out the type of SPEC
-				String word = "";
-				if (suit == SUIT.SPEC)
-					word = SPEC_TYPES[value - 1];
-				//	Otherwise, print a symbol for the suit
-				else 
-					switch(suit) {
-						//	O for TONG
-						case SUIT.TONG: word = "O";	break;
-						//	| for TIAO
-						case SUIT.TIAO: word = "|";	break;
-						//	K for WAN
-						case SUIT.WAN: word = "K";	break;
-					}
-				System.out.print("|  " + word + "  |");		break;
-		}
+		print(row, System.out);
+	}
+	/**	Prints the given layer of a tile to a stream
+	 * 	@param	layer of tile to print
+	 * 	@param	stream to print to
+	 */
+	public void print(int row, PrintStream out) {
+		out.print(getRow(row));
+	}
+	/**	@return	the given row of the tile's picture, empty if there is no
+	 * 			such row
+	 * 	@param	row of tile from 1-5
+	 */
+	public String getRow(int row) {
+		return row >= 1 && row <= rows.length ? rows[row - 1] : "";
 	}
 	
 	/**	Checks whether this Tile is equal in suit and value to another
-	 * 	Tile using TileComparator.
+	 * 	Tile by comparing ids.
 	 * 	Used in checking for three of a kinds.
 	 * 	@param	Tile to compare to
 	 * 	@return	whether or not tiles are equal
@@ -152,24 +136,56 @@ public class Tile {
 	public boolean equals(Tile other) {
 		if (other == null)
 			return false;
-		return new TileComparator().compare(this, other) == 0;
+		return id == other.id;
+	}
+	/**	@return	whether other is a Tile equal to this one	*/
+	public boolean equals(Object other) {
+		return other instanceof Tile && equals((Tile)other);
+	}
+	/**	@return	id as hash code, so equal tiles hash the same	*/
+	public int hashCode() {
+		return id;
 	}
 	
 	
 	/*	Static Methods	*/
 	
+	/**	Gets a Tile from its id
+	 * 	@param	id of tile from 0-33
+	 * 	@return	Tile with that id
+	 */
+	public static Tile fromId(int id) {
+		return TILES[id];
+	}
+	/**	Gets a Tile from suit and value
+	 * 	@param	suit	type of suit of the tile
+	 * 	@param	value	value of tile or type of SPEC between 1-9 and
+	 * 					and 1-7 respectiveley
+	 * 	@return	Tile with that suit and value
+	 */
+	public static Tile of(SUIT suit, int value) {
+		return TILES[suit.ordinal() * 9 + value - 1];
+	}
+	/**	Gets a Tile from key String (suit + value)
+	 * 	@param	key		String in valid form suit + value
+	 * 	@return	Tile with that key, null if key isn't valid
+	 */
+	public static Tile of(String key) {
+		return KEYS.get(key);
+	}
+	
 	/**	Prints a list of Tiles layer by layer
 	 * 	@param	List to print
 	 */
 	public static void printTileList(List<Tile> tiles) {
-		//	Print layer by layer
-		for (int i = 1; i <= 5; i++) {
-			for (Tile t: tiles) {
-				t.print(i);
-				System.out.print("  ");
-			}
-			System.out.print("\n");
-		}
+		printTileList(tiles, System.out);
+	}
+	/**	Prints a list of Tiles layer by layer to a stream
+	 * 	@param	List to print
+	 * 	@param	stream to print to
+	 */
+	public static void printTileList(List<Tile> tiles, PrintStream out) {
+		new TileRenderer().tiles(tiles).flush(out);
 	}
 	
 	/**	Prints a queue of tiles by converting queue to list and
@@ -194,13 +210,13 @@ public class Tile {
 	 *	@param	list to print
 	 */
 	public static void printSetList(List<TileSet> list) {
-		//	Print layer by layer
-		for (int i = 1; i <= 5; i++) {
-			for (TileSet set: list) {
-				set.print(i);
-				System.out.print("  ");
-			}
-			System.out.print("\n");
-		}
+		printSetList(list, System.out);
+	}
+	/**	Prints a list of sets, grouped up, to a stream
+	 *	@param	list to print
+	 * 	@param	stream to print to
+	 */
+	public static void printSetList(List<TileSet> list, PrintStream out) {
+		new TileRenderer().sets(list).flush(out);
 	}
 }
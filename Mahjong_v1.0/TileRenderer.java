@@ -0,0 +1,122 @@
+import java.io.PrintStream;
+import java.util.*;
+
+/**	TileRenderer class for Mahjong game. Builds a whole frame of tile
+ * 	pictures, such as the discards, shown sets, and a hand, in one
+ * 	StringBuilder from the rows each Tile keeps, then prints the frame
+ * 	with a single write and flush. A renderer can be used for any number
+ * 	of frames, the builder is kept between them.
+ * 	Not thread safe, each stream should have its own renderer.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class TileRenderer {
+	//	Number of rows in a tile's picture
+	public static final int ROWS = 5;
+	//	Space after each tile or set in a row
+	private static final String GAP = "  ";
+	//	End of each line, the same as println writes
+	private static final String NEWLINE = System.lineSeparator();
+	//	End of each row of tiles or sets side by side, which were always
+	//	printed with a plain '\n'
+	private static final char ROW_END = '\n';
+
+	/*	Field variables	*/
+	//	Frame being built
+	private StringBuilder frame;
+
+	/*	Constructors	*/
+	/**	Renderer with an empty frame	*/
+	public TileRenderer() {
+		frame = new StringBuilder(1024);
+	}
+
+	/**	Adds a line of text to the frame
+	 * 	@param	text of the line
+	 * 	@return	this renderer
+	 */
+	public TileRenderer line(String text) {
+		frame.append(text).append(NEWLINE);
+		return this;
+	}
+	/**	Adds text without ending the line
+	 * 	@param	text to add
+	 * 	@return	this renderer
+	 */
+	public TileRenderer text(String text) {
+		frame.append(text);
+		return this;
+	}
+
+	/**	Adds the picture of one tile
+	 * 	@param	tile to add
+	 * 	@return	this renderer
+	 */
+	public TileRenderer tile(Tile t) {
+		for (int i = 1; i <= ROWS; i++)
+			frame.append(t.getRow(i)).append(NEWLINE);
+		return this;
+	}
+	/**	Adds a list of tiles side by side
+	 * 	@param	tiles to add
+	 * 	@return	this renderer
+	 */
+	public TileRenderer tiles(List<Tile> tiles) {
+		return tiles(tiles, 0, tiles.size());
+	}
+	/**	Adds part of a list of tiles side by side
+	 * 	@param	tiles to add
+	 * 	@param	index of the first tile
+	 * 	@param	index after the last tile
+	 * 	@return	this renderer
+	 */
+	public TileRenderer tiles(List<Tile> tiles, int from, int to) {
+		for (int i = 1; i <= ROWS; i++) {
+			for (int j = from; j < to; j++)
+				frame.append(tiles.get(j).getRow(i)).append(GAP);
+			frame.append(ROW_END);
+		}
+		return this;
+	}
+	/**	Adds the picture of one set
+	 * 	@param	set to add
+	 * 	@return	this renderer
+	 */
+	public TileRenderer set(TileSet set) {
+		for (int i = 1; i <= ROWS; i++) {
+			set.appendRow(i, frame);
+			frame.append(NEWLINE);
+		}
+		return this;
+	}
+	/**	Adds a list of sets side by side
+	 * 	@param	sets to add
+	 * 	@return	this renderer
+	 */
+	public TileRenderer sets(List<TileSet> sets) {
+		for (int i = 1; i <= ROWS; i++) {
+			for (TileSet set: sets) {
+				set.appendRow(i, frame);
+				frame.append(GAP);
+			}
+			frame.append(ROW_END);
+		}
+		return this;
+	}
+
+	/**	@return	the frame built so far	*/
+	public String toString() {
+		return frame.toString();
+	}
+
+	/**	Prints the frame with one write, flushes the stream, and starts a
+	 * 	new frame
+	 * 	@param	stream to print to
+	 */
+	public void flush(PrintStream out) {
+		out.append(frame);
+		out.flush();
+		frame.setLength(0);
+	}
+}
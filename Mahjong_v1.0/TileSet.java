@@ -1,3 +1,4 @@
+import java.io.PrintStream;
 import java.util.*;
 
 /**	TileSet class to keep track of players' shown sets in Mahjong.
@@ -17,6 +18,9 @@ public class TileSet {
 	//	Set types
 	public static enum SET_TYPE {PENG, KONG, CHI};
 	private SET_TYPE setType;
+	//	Set types by ordinal, and the 6 bit id of a missing tile in a code
+	private static final SET_TYPE[] TYPES = SET_TYPE.values();
+	private static final int NO_TILE = 63;
 	
 	/*	Constructors	*/
 	/**	Constructor for CHI and PENG, assuming the three tiles are
@@ -83,22 +87,40 @@ public class TileSet {
 	 * 	@param	line to print
 	 */
 	public void print(int layer) {
-		t1.print(layer);
-		t2.print(layer);
-		//	Only print t3 if its not null
+		print(layer, System.out);
+	}
+	/**	Print tileSet line by line to a stream
+	 * 	@param	line to print
+	 * 	@param	stream to print to
+	 */
+	public void print(int layer, PrintStream out) {
+		StringBuilder sb = new StringBuilder();
+		appendRow(layer, sb);
+		out.print(sb);
+	}
+	/**	Adds one line of the set's picture to a StringBuilder
+	 * 	@param	line to add
+	 * 	@param	StringBuilder to add to
+	 */
+	public void appendRow(int layer, StringBuilder sb) {
+		sb.append(t1.getRow(layer)).append(t2.getRow(layer));
+		//	Only add t3 if its not null
 		if (t3 != null)
-			t3.print(layer);
-		//	Only print t4 if set is a KONG
+			sb.append(t3.getRow(layer));
+		//	Only add t4 if set is a KONG
 		if (setType == SET_TYPE.KONG)
-			t4.print(layer);
+			sb.append(t4.getRow(layer));
 	}
 	
 	/**	Prints the entire tileSet	*/
 	public void print() {
-		for (int i = 1; i <= 5; i++) {
-			print(i);
-			System.out.println("");
-		}
+		print(System.out);
+	}
+	/**	Prints the entire tileSet to a stream
+	 * 	@param	stream to print to
+	 */
+	public void print(PrintStream out) {
+		new TileRenderer().set(this).flush(out);
 	}
 	
 	/**	Return whether this set contains a certain tile
@@ -170,4 +192,37 @@ public class TileSet {
 	public SET_TYPE getSetType() {
 		return setType;
 	}
+
+	/*	Codes, for saving sets in a GameState	*/
+	/**	Packs the set into one int: the ids of t1 to t4 in 6 bits each
+	 * 	(NO_TILE where a tile is null), then the set type in 2 bits, then
+	 * 	1 bit for whether the set is incomplete
+	 * 	@return	code of the set
+	 */
+	public int getCode() {
+		return idOf(t1) | idOf(t2) << 6 | idOf(t3) << 12 | idOf(t4) << 18
+				| setType.ordinal() << 24 | (this instanceof IncompleteSet ? 1 << 26 : 0);
+	}
+	/**	Makes a set from its code
+	 * 	@param	code of the set (see getCode())
+	 * 	@return	new set equal to the one the code was made from
+	 */
+	public static TileSet fromCode(int code) {
+		Tile t1 = tileOf(code);
+		Tile t2 = tileOf(code >>> 6);
+		if ((code >>> 26 & 1) != 0)
+			return new IncompleteSet(t1, t2);
+		TileSet set = new TileSet(t1, t2, tileOf(code >>> 12), tileOf(code >>> 18));
+		set.setType = TYPES[code >>> 24 & 3];
+		return set;
+	}
+	/**	@return	id of a tile, NO_TILE if it is null	*/
+	private static int idOf(Tile t) {
+		return t == null ? NO_TILE : t.getId();
+	}
+	/**	@return	tile of the low 6 bits of a code, null if they are NO_TILE	*/
+	private static Tile tileOf(int bits) {
+		bits &= NO_TILE;
+		return bits == NO_TILE ? null : Tile.fromId(bits);
+	}
 }
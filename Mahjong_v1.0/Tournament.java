@@ -0,0 +1,249 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**	Tournament class to play many headless games of 4 bots and add up how
+ * 	each seat did. Games are split into shards of seeds, and each shard is
+ * 	played on one of a fixed pool of worker threads. Every game only
+ * 	depends on its seed, and shard results are added up in seed order, so
+ * 	the results for a list of seeds are the same no matter how many threads
+ * 	play them.
+ * 	All games can share one agent, such as a BatchingAgent answering the
+ * 	decisions of every table together.
+ * 	Used to compare bot changes, it is not used in the Mahjong game.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class Tournament {
+	//	Number of shards given to each thread, so threads that finish early
+	//	can take more work
+	private static final int SHARDS_PER_THREAD = 8;
+
+	/*	Field variables	*/
+	//	Number of worker threads
+	private int threads;
+	//	Agent making the decisions in every game
+	private Agent agent;
+	//	Time a MonteCarloBot at seat 0 searches each decision for, in
+	//	milliseconds, 0 for a Bot at every seat
+	private long searchMillis;
+	//	Whether the searching bot is an ISMCTSBot instead
+	private boolean treeSearch;
+
+	/*	Constructors	*/
+	/**	Tournament using one thread per core	*/
+	public Tournament() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	/**	Tournament with a fixed number of threads
+	 * 	@param	number of worker threads
+	 */
+	public Tournament(int threads) {
+		this(threads, new BotAgent());
+	}
+	/**	Tournament with a fixed number of threads and one agent for all games
+	 * 	@param	number of worker threads
+	 * 	@param	agent making the decisions in every game
+	 */
+	public Tournament(int threads, Agent agent) {
+		this.threads = Math.max(1, threads);
+		this.agent = agent;
+	}
+	
+	/**	Seats a MonteCarloBot at seat 0 of every game, answering its own
+	 * 	decisions. The other seats are the same bots as without it, so
+	 * 	seat 0's wins can be compared with a Bot's on the same seeds. Its
+	 * 	searches are timed, so results change from run to run.
+	 * 	Each shard of seeds searches on its own ForkJoinPool, made when the
+	 * 	shard starts and shut down when it ends, with the cores divided by
+	 * 	the number of worker threads. Only one shard runs on each thread at
+	 * 	a time, so the searches of games played at the same time don't take
+	 * 	each other's time.
+	 * 	@param	time to search each decision, in milliseconds, 0 for a
+	 * 			Bot at every seat
+	 */
+	public void setSearchMillis(long searchMillis) {
+		this.searchMillis = searchMillis;
+	}
+	/**	Makes the searching bot at seat 0 an ISMCTSBot, searching a tree
+	 * 	for the same time, instead of a MonteCarloBot
+	 * 	@param	whether to search with a tree
+	 */
+	public void setTreeSearch(boolean treeSearch) {
+		this.treeSearch = treeSearch;
+	}
+
+	//	Main method
+	//	Arguments: number of games, number of threads, first seed, most
+	//	decisions to batch together (0 to not batch), milliseconds a
+	//	MonteCarloBot at seat 0 searches each decision (0 for no search),
+	//	"tree" to search with an ISMCTSBot instead
+	public static void main(String[] args) throws Exception {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) :
+				Runtime.getRuntime().availableProcessors();
+		long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+		int batch = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		long searchMillis = args.length > 4 ? Long.parseLong(args[4]) : 0;
+		boolean treeSearch = args.length > 5 && args[5].equals("tree");
+
+		//	Seeds are consecutive from the first seed
+		long[] seeds = new long[games];
+		for (int i = 0; i < games; i++)
+			seeds[i] = firstSeed + i;
+
+		BatchingAgent batching = batch > 0 ? new BatchingAgent(new BotAgent(), batch) : null;
+		long start = System.nanoTime();
+		Tournament tournament = new Tournament(threads, batching != null ? batching : new BotAgent());
+		tournament.setSearchMillis(searchMillis);
+		tournament.setTreeSearch(treeSearch);
+		Stats stats = tournament.play(seeds);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(stats);
+		if (batching != null) {
+			System.out.printf(Locale.ROOT, "Average decisions per batch: %.2f%n", batching.getAverageBatch());
+			batching.close();
+		}
+		System.out.printf(Locale.ROOT, "%d games on %d threads in %.2f s (%.0f games/sec)%n",
+				games, threads, seconds, games / seconds);
+	}
+
+	/**	Plays one game for every seed, spread across the worker threads
+	 * 	@param	seeds of games to play
+	 * 	@return	results of all games added up
+	 */
+	public Stats play(long[] seeds) throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			//	Split seeds into shards of consecutive seeds
+			int shardCount = Math.min(seeds.length, threads * SHARDS_PER_THREAD);
+			List<Future<Stats>> shards = new ArrayList<>(shardCount);
+			for (int i = 0; i < shardCount; i++) {
+				int from = (int)((long)seeds.length * i / shardCount);
+				int to = (int)((long)seeds.length * (i + 1) / shardCount);
+				shards.add(pool.submit(() -> playShard(seeds, from, to)));
+			}
+			//	Add shard results up in order
+			Stats total = new Stats();
+			for (Future<Stats> shard: shards)
+				total.add(shard.get());
+			return total;
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**	Plays the games for a range of seeds on the current thread
+	 * 	@param	all seeds
+	 * 	@param	index of first seed to play
+	 * 	@param	index after last seed to play
+	 * 	@return	results of the games played
+	 */
+	private Stats playShard(long[] seeds, int from, int to) {
+		Stats stats = new Stats();
+		//	Searches of this thread's games share its part of the cores
+		ForkJoinPool searchPool = searchMillis > 0 ? new ForkJoinPool(
+				Math.max(1, Runtime.getRuntime().availableProcessors() / threads)) : null;
+		try {
+			for (int i = from; i < to; i++) {
+				Mahjong game = searchMillis > 0 ? searchGame(seeds[i], searchPool)
+						: new Mahjong(GameListener.NONE, seeds[i], agent);
+				Player winner = game.play();
+				stats.addGame(winner == null ? -1 : winner.getPlayerNum(), game.getTurnCount());
+			}
+		}
+		finally {
+			if (searchPool != null)
+				searchPool.shutdown();
+		}
+		return stats;
+	}
+
+	/**	Makes a headless game with a searching bot at seat 0
+	 * 	@param	seed of the game
+	 * 	@param	pool the bot searches on
+	 * 	@return	game to play
+	 */
+	private Mahjong searchGame(long seed, ForkJoinPool pool) {
+		Player[] players = GameServer.makePlayers(seed, true);
+		//	The search bot gets the random numbers of the bot it replaces
+		SplittableRandom random = new SplittableRandom(seed);
+		random.split();
+		Bot searcher = treeSearch ? new ISMCTSBot(0, random.split(), searchMillis, ISMCTSBot.DEFAULT_NODES, pool)
+				: new MonteCarloBot(0, random.split(), searchMillis, pool);
+		players[0] = searcher;
+		Mahjong game = new Mahjong(players, new Agent[] {(Agent)searcher, agent, agent, agent}, seed,
+				new PrintStream(OutputStream.nullOutputStream()));
+		game.setHeadless(true);
+		return game;
+	}
+
+	/**	Results of a group of games: wins for each seat, draws, and turns	*/
+	public static class Stats {
+		//	Wins for each seat
+		private long[] wins = new long[4];
+		//	Games that ended without a winner
+		private long draws;
+		//	Total number of games
+		private long games;
+		//	Total turns over all games
+		private long turns;
+
+		/**	Adds the result of one game
+		 * 	@param	seat of the winner, -1 for a draw
+		 * 	@param	number of turns in the game
+		 */
+		public void addGame(int winner, int turnCount) {
+			if (winner == -1)
+				draws++;
+			else
+				wins[winner]++;
+			games++;
+			turns += turnCount;
+		}
+
+		/**	Adds the results of other games to these results
+		 * 	@param	results to add
+		 */
+		public void add(Stats other) {
+			for (int i = 0; i < 4; i++)
+				wins[i] += other.wins[i];
+			draws += other.draws;
+			games += other.games;
+			turns += other.turns;
+		}
+
+		/**	@return	wins for a seat
+		 * 	@param	seat number
+		 */
+		public long getWins(int seat) {
+			return wins[seat];
+		}
+		/**	@return	number of draws	*/
+		public long getDraws() {
+			return draws;
+		}
+		/**	@return	number of games	*/
+		public long getGames() {
+			return games;
+		}
+		/**	@return	total turns over all games	*/
+		public long getTurns() {
+			return turns;
+		}
+
+		/**	@return	results as a table	*/
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 4; i++)
+				sb.append(String.format(Locale.ROOT, "Seat %d wins: %d (%.2f%%)%n", i, wins[i],
+						100.0 * wins[i] / Math.max(1, games)));
+			sb.append(String.format(Locale.ROOT, "Draws: %d (%.2f%%)%n", draws, 100.0 * draws / Math.max(1, games)));
+			sb.append(String.format(Locale.ROOT, "Average turns: %.2f", (double)turns / Math.max(1, games)));
+			return sb.toString();
+		}
+	}
+}
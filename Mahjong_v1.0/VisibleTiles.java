@@ -0,0 +1,97 @@
+import java.util.*;
+
+/**	VisibleTiles class for Mahjong game. Counts the tiles every player can
+ * 	see: each discard, and each tile of a shown set. A claimed discard
+ * 	moves from the discards into a set, so it is only counted once.
+ * 	The game owns the counts and updates them as moves are made, players
+ * 	and agents only read them, so asking how many copies of a tile are
+ * 	still live takes no searching through the discards or shown sets.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public class VisibleTiles {
+	/*	Field variables	*/
+	//	Number of each tile seen, by id
+	private int[] seen;
+
+	/*	Constructors	*/
+	/**	Counts for a game where nothing has been seen yet	*/
+	public VisibleTiles() {
+		seen = new int[Tile.NUM_TYPES];
+	}
+	/**	Copy of the counts of another game
+	 * 	@param	counts to copy
+	 */
+	public VisibleTiles(VisibleTiles other) {
+		seen = Arrays.copyOf(other.seen, other.seen.length);
+	}
+
+	/*	Updates, only made by the game	*/
+	/**	Counts a discarded tile
+	 * 	@param	tile discarded
+	 */
+	void discard(Tile t) {
+		seen[t.getId()]++;
+	}
+	/**	Counts the tiles of a set just shown, other than the discard taken
+	 * 	for it, which was counted when it was discarded
+	 * 	@param	set shown
+	 * 	@param	discard taken for the set, null if every tile was hidden
+	 */
+	void show(TileSet set, Tile taken) {
+		boolean skipped = taken == null;
+		for (Tile t: set.getTiles()) {
+			if (!skipped && t.equals(taken))
+				skipped = true;
+			else
+				seen[t.getId()]++;
+		}
+	}
+	/**	Counts one tile added to a shown set, such as a PENG made into a
+	 * 	KONG
+	 * 	@param	tile added
+	 */
+	void show(Tile t) {
+		seen[t.getId()]++;
+	}
+
+	/**	Loads the counts from a game state
+	 * 	@param	state to load
+	 */
+	void loadFrom(GameState state) {
+		System.arraycopy(state.visible, 0, seen, 0, seen.length);
+	}
+	/**	Saves the counts into a game state
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		System.arraycopy(seen, 0, state.visible, 0, seen.length);
+	}
+
+	/*	Queries	*/
+	/**	@return	number of copies of a tile seen
+	 * 	@param	id of the tile
+	 */
+	public int getSeen(int id) {
+		return seen[id];
+	}
+	/**	@return	number of copies of a tile nobody has seen
+	 * 	@param	id of the tile
+	 */
+	public int getUnseen(int id) {
+		return 4 - seen[id];
+	}
+	/**	@return	number of copies of a tile a player could still draw or
+	 * 			claim: those neither seen nor in the player's hand
+	 * 	@param	id of the tile
+	 * 	@param	player asking
+	 */
+	public int getLive(int id, Player p) {
+		return Math.max(0, 4 - seen[id] - p.getCount(id));
+	}
+	/**	@return	copy of the number of each tile seen, by id	*/
+	public int[] toArray() {
+		return Arrays.copyOf(seen, seen.length);
+	}
+}
@@ -0,0 +1,181 @@
+import java.util.*;
+
+/**	Wall class for Mahjong game. The wall is the deck of all 136 tiles
+ * 	that players draw from, kept as tile ids in a fixed array.
+ * 	Normal draws take from the front of the wall. After a KONG, the
+ * 	replacement tile is taken from the back of the wall instead. Both ends
+ * 	are cursors into the same array, so there is no separate dead wall:
+ * 	the wall is empty when the cursors meet.
+ * 	The same array is reused by reset, and the shuffle keeps its random
+ * 	numbers in two longs, so a wall allocates nothing after it is created.
+ *
+ * 	@author	Charles Chang
+ * 	@since	17 October 2026
+ */
+public final class Wall {
+	//	Number of tiles in a wall, 4 of each tile
+	public static final int SIZE = 4 * Tile.NUM_TYPES;
+	//	Gamma of a SplittableRandom made from a seed
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/*	Field variables	*/
+	//	Tile ids in the order they are drawn from the front
+	private final int[] tiles;
+	//	Index of the next tile drawn from the front
+	private int head;
+	//	Index after the next tile drawn from the back
+	private int tail;
+	//	Seed the wall was shuffled with
+	private long seed;
+	//	State of the random numbers shuffling the wall
+	private long shuffleSeed;
+	private long shuffleGamma;
+
+	/*	Constructors	*/
+	/**	Creates a wall shuffled with a seed
+	 * 	@param	seed to shuffle with
+	 */
+	public Wall(long seed) {
+		tiles = new int[SIZE];
+		reset(seed);
+	}
+	/**	Copy of another wall, with the same tiles left to draw from both
+	 * 	ends
+	 * 	@param	wall to copy
+	 */
+	public Wall(Wall other) {
+		tiles = Arrays.copyOf(other.tiles, SIZE);
+		head = other.head;
+		tail = other.tail;
+		seed = other.seed;
+	}
+
+	/**	Refills the wall with all tiles and shuffles it in place with a
+	 * 	Fisher-Yates shuffle. The same seed always gives the same wall.
+	 * 	@param	seed to shuffle with
+	 */
+	public void reset(long seed) {
+		this.seed = seed;
+		startShuffle(seed);
+		//	4 copies of every tile id in order
+		for (int i = 0; i < SIZE; i++)
+			tiles[i] = i % Tile.NUM_TYPES;
+		//	Swap each tile with a random tile at or before it
+		for (int i = SIZE - 1; i > 0; i--) {
+			int j = nextInt(i + 1);
+			int temp = tiles[i];
+			tiles[i] = tiles[j];
+			tiles[j] = temp;
+		}
+		head = 0;
+		tail = SIZE;
+	}
+
+	/*	Random numbers for the shuffle. These are the numbers of
+	 * 	new SplittableRandom(seed).split(), made without allocating it.
+	 */
+	/**	Starts the random numbers of a shuffle, as split() does on a
+	 * 	SplittableRandom made from the seed
+	 * 	@param	seed to shuffle with
+	 */
+	private void startShuffle(long seed) {
+		shuffleSeed = mix64(seed + GOLDEN_GAMMA);
+		shuffleGamma = mixGamma(seed + 2 * GOLDEN_GAMMA);
+	}
+	/**	Gets a random number as SplittableRandom.nextInt(bound) does
+	 * 	@param	bound, must be positive
+	 * 	@return	random number from 0 to bound - 1
+	 */
+	private int nextInt(int bound) {
+		int r = mix32(shuffleSeed += shuffleGamma);
+		int m = bound - 1;
+		if ((bound & m) == 0)
+			return r & m;
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(shuffleSeed += shuffleGamma) >>> 1);
+		return r;
+	}
+	/**	@return	64 bit mix of a seed	*/
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	/**	@return	32 bit mix of a seed	*/
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int)(((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+	/**	@return	odd gamma mixed from a seed, with enough bit changes	*/
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+	/**	Saves the tiles and cursors into a game state
+	 * 	@param	state to save to
+	 */
+	public void saveTo(GameState state) {
+		System.arraycopy(tiles, 0, state.wall, 0, SIZE);
+		state.head = head;
+		state.tail = tail;
+		state.seed = seed;
+	}
+	/**	Loads the tiles and cursors from a game state
+	 * 	@param	state to load
+	 */
+	public void loadFrom(GameState state) {
+		System.arraycopy(state.wall, 0, tiles, 0, SIZE);
+		head = state.head;
+		tail = state.tail;
+		seed = state.seed;
+	}
+
+	/**	Draws the next tile from the front
+	 * 	@return	tile drawn, null if the wall is empty
+	 */
+	public Tile draw() {
+		if (isEmpty())
+			return null;
+		return Tile.fromId(tiles[head++]);
+	}
+	/**	Draws a replacement tile from the back after a KONG
+	 * 	@return	tile drawn, null if the wall is empty
+	 */
+	public Tile drawReplacement() {
+		if (isEmpty())
+			return null;
+		return Tile.fromId(tiles[--tail]);
+	}
+
+	/*	Accessor methods	*/
+	/**	@return	whether there are no tiles left	*/
+	public boolean isEmpty() {
+		return head == tail;
+	}
+	/**	@return	number of tiles left to draw	*/
+	public int remaining() {
+		return tail - head;
+	}
+	/**	@return	number of tiles drawn from the front	*/
+	public int getDrawnFront() {
+		return head;
+	}
+	/**	@return	number of tiles drawn from the back	*/
+	public int getDrawnBack() {
+		return SIZE - tail;
+	}
+	/**	@return	seed the wall was shuffled with	*/
+	public long getSeed() {
+		return seed;
+	}
+	/**	Gets a tile id by its position in the shuffled wall, whether or not
+	 * 	it has been drawn
+	 * 	@param	position from 0 (first tile drawn from the front) to 135
+	 * 	@return	id of tile at that position
+	 */
+	public int getId(int position) {
+		return tiles[position];
+	}
+}